@@ -6,6 +6,7 @@ import com.nexus.backend.admin.controller.codegen.vo.UpdateTableConfigVO;
 import com.nexus.backend.admin.dal.dataobject.codegen.CodegenColumnDO;
 import com.nexus.backend.admin.dal.dataobject.codegen.CodegenTableDO;
 import com.nexus.backend.admin.service.codegen.CodegenService;
+import com.nexus.framework.security.annotation.RequiresPermission;
 import com.nexus.framework.web.result.PageResult;
 import com.nexus.framework.web.result.Result;
 import jakarta.annotation.Resource;
@@ -14,7 +15,6 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -51,7 +51,7 @@ public class CodegenController {
      * @return 分页结果
      */
     @GetMapping("/tables")
-    @PreAuthorize("hasAuthority('codegen:table:query')")
+    @RequiresPermission("codegen:table:query")
     public Result<PageResult<CodegenTableDO>> getTableList(
             @RequestParam(defaultValue = "1") Long current,
             @RequestParam(defaultValue = "10") Long size,
@@ -69,7 +69,7 @@ public class CodegenController {
      * @return 表配置
      */
     @GetMapping("/tables/{id}")
-    @PreAuthorize("@ss.hasPermission('codegen:table:query')")
+    @RequiresPermission("codegen:table:query")
     public Result<CodegenTableVO> getTableConfig(@PathVariable @NotNull Long id) {
         CodegenTableDO table = codegenService.getTableById(id);
         List<CodegenColumnDO> columns = codegenService.getColumnsByTableId(id);
@@ -88,7 +88,7 @@ public class CodegenController {
      * @return 导入的表ID列表
      */
     @PostMapping("/import")
-    @PreAuthorize("hasAuthority('codegen:table:import')")
+    @RequiresPermission("codegen:table:import")
     public Result<List<Long>> importTables(@Valid @RequestBody ImportTableVO dto) {
         List<Long> tableIds = codegenService.importTables(dto.getDatasourceConfigId(), dto.getTableNames());
         return Result.success(tableIds);
@@ -102,7 +102,7 @@ public class CodegenController {
      * @return 成功结果
      */
     @PutMapping("/tables/{id}")
-    @PreAuthorize("hasAuthority('codegen:table:update')")
+    @RequiresPermission("codegen:table:update")
     public Result<Void> updateTableConfig(@PathVariable @NotNull Long id,
             @Valid @RequestBody UpdateTableConfigVO dto) {
         // 确保ID一致
@@ -119,7 +119,7 @@ public class CodegenController {
      * @return 成功结果
      */
     @DeleteMapping("/tables/{id}")
-    @PreAuthorize("hasAuthority('codegen:table:delete')")
+    @RequiresPermission("codegen:table:delete")
     public Result<Void> deleteTable(@PathVariable @NotNull Long id) {
         codegenService.deleteTable(id);
         return Result.success();
@@ -132,7 +132,7 @@ public class CodegenController {
      * @return 成功结果
      */
     @DeleteMapping("/tables")
-    @PreAuthorize("hasAuthority('codegen:table:delete')")
+    @RequiresPermission("codegen:table:delete")
     public Result<Void> deleteTables(@RequestBody @NotEmpty List<Long> ids) {
         for (Long id : ids) {
             codegenService.deleteTable(id);
@@ -147,7 +147,7 @@ public class CodegenController {
      * @return 预览代码
      */
     @GetMapping("/preview/{id}")
-    @PreAuthorize("@ss.hasPermission('codegen:table:preview')")
+    @RequiresPermission("codegen:table:preview")
     public Result<Map<String, String>> previewCode(@PathVariable @NotNull Long id) {
         Map<String, String> codeMap = codegenService.previewCode(id);
         return Result.success(codeMap);
@@ -160,7 +160,7 @@ public class CodegenController {
      * @return 代码文件
      */
     @PostMapping("/generate/{id}")
-    @PreAuthorize("hasAuthority('codegen:table:generate')")
+    @RequiresPermission("codegen:table:generate")
     public ResponseEntity<byte[]> generateCode(@PathVariable @NotNull Long id) {
         CodegenTableDO table = codegenService.getTableById(id);
         byte[] data = codegenService.generateCode(id);
@@ -181,7 +181,7 @@ public class CodegenController {
      * @return 代码文件
      */
     @PostMapping("/generate")
-    @PreAuthorize("hasAuthority('codegen:table:generate')")
+    @RequiresPermission("codegen:table:generate")
     public ResponseEntity<byte[]> batchGenerateCode(@RequestBody @NotEmpty List<Long> ids) {
         byte[] data = codegenService.batchGenerateCode(ids);
         String fileName = "batch_code_" + System.currentTimeMillis() + ".zip";
@@ -6,13 +6,13 @@ import com.nexus.backend.admin.controller.codegen.vo.DataSourceConfigUpdateReqVO
 import com.nexus.backend.admin.controller.codegen.vo.DataSourcePageReqVO;
 import com.nexus.backend.admin.dal.dataobject.codegen.DataSourceConfigDO;
 import com.nexus.backend.admin.service.codegen.DataSourceConfigService;
+import com.nexus.framework.security.annotation.RequiresPermission;
 import com.nexus.framework.web.result.PageResult;
 import com.nexus.framework.web.result.Result;
 import jakarta.annotation.Resource;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,7 +34,7 @@ public class DataSourceController {
     private DataSourceConfigService dataSourceConfigService;
 
     @GetMapping("/page")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<PageResult<DataSourceConfigRespVO>> getPage(@Valid DataSourcePageReqVO pageReqVO) {
 
         PageResult<DataSourceConfigDO> pageResult = dataSourceConfigService.getPage(pageReqVO);
@@ -47,7 +47,7 @@ public class DataSourceController {
     }
 
     @GetMapping("/list")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<List<DataSourceConfigRespVO>> getList() {
         List<DataSourceConfigDO> list = dataSourceConfigService.getList();
         List<DataSourceConfigRespVO> voList = list.stream()
@@ -57,14 +57,14 @@ public class DataSourceController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<DataSourceConfigRespVO> getById(@PathVariable Long id) {
         DataSourceConfigDO dataSource = dataSourceConfigService.getById(id);
         return Result.success(convertForDetail(dataSource));
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('codegen:database:create')")
+    @RequiresPermission("codegen:database:create")
     public Result<Long> create(@Valid @RequestBody DataSourceConfigCreateReqVO reqVO) {
         DataSourceConfigDO dataSource = new DataSourceConfigDO();
         BeanUtils.copyProperties(reqVO, dataSource);
@@ -73,7 +73,7 @@ public class DataSourceController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('codegen:database:update')")
+    @RequiresPermission("codegen:database:update")
     public Result<Void> update(@PathVariable Long id, @Valid @RequestBody DataSourceConfigUpdateReqVO reqVO) {
         DataSourceConfigDO dataSource = new DataSourceConfigDO();
         BeanUtils.copyProperties(reqVO, dataSource);
@@ -83,14 +83,14 @@ public class DataSourceController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('codegen:database:delete')")
+    @RequiresPermission("codegen:database:delete")
     public Result<Void> delete(@PathVariable Long id) {
         dataSourceConfigService.delete(id);
         return Result.success();
     }
 
     @PostMapping("/{id}/test")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<Boolean> testConnection(@PathVariable Long id) {
         boolean success = dataSourceConfigService.testConnection(id);
         return Result.success(success);
@@ -5,10 +5,10 @@ import com.nexus.backend.admin.controller.codegen.vo.DatabaseTableDVO;
 import com.nexus.backend.admin.dal.dataobject.codegen.DataSourceConfigDO;
 import com.nexus.backend.admin.dal.mapper.codegen.DataSourceConfigMapper;
 import com.nexus.backend.admin.service.codegen.DatabaseTableService;
+import com.nexus.framework.security.annotation.RequiresPermission;
 import com.nexus.framework.web.result.Result;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -40,7 +40,7 @@ public class DatabaseController {
      * @return 数据源配置列表
      */
     @GetMapping("/datasources")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<List<DataSourceConfigDO>> getDataSourceList() {
         List<DataSourceConfigDO> list = dataSourceConfigMapper.selectActiveList();
         return Result.success(list);
@@ -54,7 +54,7 @@ public class DatabaseController {
      * @return 表列表
      */
     @GetMapping("/tables")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<List<DatabaseTableDVO>> getTableList(
             @RequestParam @NotNull Long datasourceConfigId,
             @RequestParam(required = false) String tableName) {
@@ -71,7 +71,7 @@ public class DatabaseController {
      * @return 字段列表
      */
     @GetMapping("/tables/{tableName}/columns")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<List<DatabaseColumnVO>> getColumnList(
             @RequestParam @NotNull Long datasourceConfigId,
             @PathVariable @NotBlank String tableName) {
@@ -88,7 +88,7 @@ public class DatabaseController {
      * @return 表信息
      */
     @GetMapping("/tables/{tableName}")
-    @PreAuthorize("hasAuthority('codegen:database:query')")
+    @RequiresPermission("codegen:database:query")
     public Result<DatabaseTableDVO> getTableInfo(
             @RequestParam @NotNull Long datasourceConfigId,
             @PathVariable @NotBlank String tableName) {
@@ -1,5 +1,6 @@
 package com.nexus.backend.admin.controller.dept;
 
+import com.nexus.framework.security.annotation.RequiresPermission;
 import com.nexus.framework.web.result.Result;
 import com.nexus.backend.admin.convert.DeptConvert;
 import com.nexus.backend.admin.controller.dept.vo.*;
@@ -11,7 +12,6 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -40,7 +40,7 @@ public class DeptController {
      * @return 创建的记录ID
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('system:dept:create')")
+    @RequiresPermission("system:dept:create")
     public Result<Long> create(@Valid @RequestBody DeptSaveReqVO createReqVO) {
         Long id = deptService.create(createReqVO);
         return Result.success(id);
@@ -54,7 +54,7 @@ public class DeptController {
      * @return 成功结果
      */
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:dept:update')")
+    @RequiresPermission("system:dept:update")
     public Result<Void> update(@PathVariable @NotNull Long id,
                                 @Valid @RequestBody DeptSaveReqVO updateReqVO) {
         updateReqVO.setId(id); // 确保ID传入Service
@@ -69,7 +69,7 @@ public class DeptController {
      * @return 成功结果
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:dept:delete')")
+    @RequiresPermission("system:dept:delete")
     public Result<Void> delete(@PathVariable @NotNull Long id) {
         deptService.delete(id);
         return Result.success();
@@ -82,7 +82,7 @@ public class DeptController {
      * @return 部门管理表列表
      */
     @GetMapping("/list")
-    @PreAuthorize("hasAuthority('system:dept:query')")
+    @RequiresPermission("system:dept:query")
     public Result<List<DeptRespVO>> getList(@Valid DeptListReqVO listReqVO) {
         List<DeptDO> list = deptService.getList(listReqVO);
         List<DeptRespVO> voList = DeptConvert.INSTANCE.toRespVOList(list);
@@ -96,7 +96,7 @@ public class DeptController {
      * @return 部门管理表详情
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:dept:query')")
+    @RequiresPermission("system:dept:query")
     public Result<DeptRespVO> getById(@PathVariable @NotNull Long id) {
         DeptDO dept = deptService.getById(id);
         DeptRespVO respVO = DeptConvert.INSTANCE.toRespVO(dept);
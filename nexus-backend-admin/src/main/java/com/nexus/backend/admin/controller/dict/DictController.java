@@ -1,11 +1,11 @@
 package com.nexus.backend.admin.controller.dict;
 
 import com.nexus.backend.admin.controller.dict.vo.*;
+import com.nexus.framework.security.annotation.RequiresPermission;
 import com.nexus.framework.web.result.Result;
 import com.nexus.backend.admin.service.dict.DictService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,7 +26,7 @@ public class DictController {
      * 根据字典类型获取字典列表（用于编辑时加载）
      */
     @GetMapping("/type/{dictType}")
-    @PreAuthorize("hasAuthority('system:dict:query')")
+    @RequiresPermission("system:dict:query")
     public Result<List<DictRespVO>> getListByType(@PathVariable String dictType) {
         List<DictRespVO> dictList = dictService.getListByType(dictType);
         return Result.success(dictList);
@@ -36,7 +36,7 @@ public class DictController {
      * 获取字典类型分组列表
      */
     @GetMapping("/type-groups")
-    @PreAuthorize("hasAuthority('system:dict:query')")
+    @RequiresPermission("system:dict:query")
     public Result<List<DictTypeGroupRespVO>> getDictTypeGroups() {
         List<DictTypeGroupRespVO> groups = dictService.getDictTypeGroups();
         return Result.success(groups);
@@ -46,7 +46,7 @@ public class DictController {
      * 批量保存字典类型下的所有字典项
      */
     @PostMapping("/type/batch-save")
-    @PreAuthorize("hasAuthority('system:dict:create') or hasAuthority('system:dict:update')")
+    @RequiresPermission({"system:dict:create", "system:dict:update"})
     public Result<Void> batchSaveDictType(@Valid @RequestBody DictTypeBatchSaveReqVO batchSaveReqVO) {
         dictService.batchSaveDictType(batchSaveReqVO);
         return Result.success();
@@ -56,7 +56,7 @@ public class DictController {
      * 删除字典类型及其所有字典项
      */
     @DeleteMapping("/type/{dictType}")
-    @PreAuthorize("hasAuthority('system:dict:delete')")
+    @RequiresPermission("system:dict:delete")
     public Result<Void> deleteDictType(@PathVariable String dictType) {
         dictService.deleteDictType(dictType);
         return Result.success();
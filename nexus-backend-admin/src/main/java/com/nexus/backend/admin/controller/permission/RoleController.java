@@ -7,11 +7,12 @@ import com.nexus.backend.admin.convert.RoleConvert;
 import com.nexus.backend.admin.dal.dataobject.permission.RoleDO;
 import com.nexus.backend.admin.service.permission.RoleService;
 import com.nexus.framework.excel.ExcelUtils;
+import com.nexus.framework.security.annotation.RequiresPermission;
+import com.nexus.framework.tenant.annotation.TenantBulkhead;
 import com.nexus.framework.web.result.Result;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -34,7 +35,7 @@ public class RoleController {
      * 创建角色
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('system:role:create')")
+    @RequiresPermission("system:role:create")
     public Result<Long> create(@Valid @RequestBody RoleSaveReqVO reqVO) {
         Long id = roleService.create(reqVO);
         return Result.success(id);
@@ -44,7 +45,7 @@ public class RoleController {
      * 更新角色
      */
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:role:update')")
+    @RequiresPermission("system:role:update")
     public Result<Void> update(@PathVariable Long id, @Valid @RequestBody RoleSaveReqVO reqVO) {
         reqVO.setId(id);
         roleService.update(reqVO);
@@ -55,7 +56,7 @@ public class RoleController {
      * 删除角色
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:role:delete')")
+    @RequiresPermission("system:role:delete")
     public Result<Void> delete(@PathVariable Long id) {
         roleService.delete(id);
         return Result.success();
@@ -65,7 +66,7 @@ public class RoleController {
      * 获取角色详情
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:role:query')")
+    @RequiresPermission("system:role:query")
     public Result<RoleRespVO> getById(@PathVariable Long id) {
         RoleDO role = roleService.getById(id);
         RoleRespVO vo = RoleConvert.INSTANCE.toRespVO(role);
@@ -76,7 +77,7 @@ public class RoleController {
      * 获取角色列表
      */
     @GetMapping("/list")
-    @PreAuthorize("hasAuthority('system:role:query')")
+    @RequiresPermission("system:role:query")
     public Result<List<RoleRespVO>> getList() {
         List<RoleDO> roleList = roleService.getList();
         List<RoleRespVO> voList = RoleConvert.INSTANCE.toRespVOList(roleList);
@@ -87,7 +88,7 @@ public class RoleController {
      * 分配菜单
      */
     @PostMapping("/assign-menu")
-    @PreAuthorize("hasAuthority('system:role:assign-menu')")
+    @RequiresPermission("system:role:assign-menu")
     public Result<Void> assignMenu(@Valid @RequestBody RoleAssignMenuReqVO reqVO) {
         roleService.assignMenu(reqVO);
         return Result.success();
@@ -97,7 +98,7 @@ public class RoleController {
      * 批量删除角色
      */
     @DeleteMapping("/batch")
-    @PreAuthorize("hasAuthority('system:role:delete')")
+    @RequiresPermission("system:role:delete")
     public Result<Void> deleteBatch(@RequestBody List<Long> ids) {
         roleService.batchDelete(ids);
         return Result.success();
@@ -107,7 +108,8 @@ public class RoleController {
      * 导出角色 Excel
      */
     @GetMapping("/export")
-    @PreAuthorize("hasAuthority('system:role:export')")
+    @RequiresPermission("system:role:export")
+    @TenantBulkhead
     public void export(HttpServletResponse response) throws IOException {
         // 查询数据
         List<RoleDO> list = roleService.getList();
@@ -1,5 +1,7 @@
 package com.nexus.backend.admin.controller.tenant;
 
+import com.nexus.framework.security.annotation.RequiresPermission;
+import com.nexus.framework.tenant.annotation.TenantBulkhead;
 import com.nexus.framework.web.result.Result;
 import com.nexus.framework.web.result.PageResult;
 import com.nexus.framework.excel.ExcelUtils;
@@ -15,7 +17,6 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -45,7 +46,7 @@ public class TenantController {
      * @return 创建的记录ID
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('system:tenant:create')")
+    @RequiresPermission("system:tenant:create")
     public Result<Long> create(@Valid @RequestBody TenantSaveReqVO createReqVO) {
         Long id = tenantService.create(createReqVO);
         return Result.success(id);
@@ -59,7 +60,7 @@ public class TenantController {
      * @return 成功结果
      */
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:tenant:update')")
+    @RequiresPermission("system:tenant:update")
     public Result<Void> update(@PathVariable @NotNull Long id,
             @Valid @RequestBody TenantSaveReqVO updateReqVO) {
         updateReqVO.setId(id); // 确保ID传入Service
@@ -74,7 +75,7 @@ public class TenantController {
      * @return 成功结果
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:tenant:delete')")
+    @RequiresPermission("system:tenant:delete")
     public Result<Void> delete(@PathVariable @NotNull Long id) {
         tenantService.delete(id);
         return Result.success();
@@ -87,7 +88,7 @@ public class TenantController {
      * @return 成功结果
      */
     @PostMapping("/batch")
-    @PreAuthorize("hasAuthority('system:tenant:create')")
+    @RequiresPermission("system:tenant:create")
     public Result<Void> batchCreate(@RequestBody @Valid @NotEmpty List<TenantSaveReqVO> createReqVOs) {
         tenantService.batchCreate(createReqVOs);
         return Result.success();
@@ -100,7 +101,7 @@ public class TenantController {
      * @return 成功结果
      */
     @PutMapping("/batch")
-    @PreAuthorize("hasAuthority('system:tenant:update')")
+    @RequiresPermission("system:tenant:update")
     public Result<Void> batchUpdate(@RequestBody @Valid @NotEmpty List<TenantSaveReqVO> updateReqVOs) {
         tenantService.batchUpdate(updateReqVOs);
         return Result.success();
@@ -113,7 +114,7 @@ public class TenantController {
      * @return 成功结果
      */
     @DeleteMapping("/batch")
-    @PreAuthorize("hasAuthority('system:tenant:delete')")
+    @RequiresPermission("system:tenant:delete")
     public Result<Void> batchDelete(@RequestBody @NotEmpty List<Long> ids) {
         tenantService.batchDelete(ids);
         return Result.success();
@@ -126,7 +127,7 @@ public class TenantController {
      * @return 租户管理表详情
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('system:tenant:query')")
+    @RequiresPermission("system:tenant:query")
     public Result<TenantRespVO> getById(@PathVariable @NotNull Long id) {
         TenantDO tenant = tenantService.getById(id);
         TenantRespVO respVO = TenantConvert.INSTANCE.toRespVO(tenant);
@@ -140,7 +141,7 @@ public class TenantController {
      * @return 分页结果
      */
     @GetMapping("/page")
-    @PreAuthorize("hasAuthority('system:tenant:query')")
+    @RequiresPermission("system:tenant:query")
     public Result<PageResult<TenantRespVO>> getPage(@Valid TenantPageReqVO pageReqVO) {
         PageResult<TenantRespVO> pageResult = tenantService.getPage(pageReqVO);
         return Result.success(pageResult);
@@ -152,7 +153,8 @@ public class TenantController {
      * @param pageReqVO 查询参数
      */
     @GetMapping("/export")
-    @PreAuthorize("hasAuthority('system:tenant:export')")
+    @RequiresPermission("system:tenant:export")
+    @TenantBulkhead
     public void export(@Valid TenantPageReqVO pageReqVO, HttpServletResponse response) throws IOException {
         // 查询数据
         List<TenantDO> list = tenantService.getList(pageReqVO);
@@ -182,9 +184,21 @@ public class TenantController {
      * @return 成功结果
      */
     @PostMapping("/assign-menu")
-    @PreAuthorize("hasAuthority('system:tenant:update')")
+    @RequiresPermission("system:tenant:update")
     public Result<Void> assignMenu(@Valid @RequestBody TenantAssignMenuReqVO reqVO) {
         tenantService.assignMenu(reqVO.getTenantId(), reqVO.getMenuIds());
         return Result.success();
     }
+
+    /**
+     * 获取租户分配的菜单ID
+     *
+     * @param id 租户ID
+     * @return 菜单ID列表
+     */
+    @GetMapping("/{id}/menu-ids")
+    @RequiresPermission("system:tenant:query")
+    public Result<List<Long>> getMenuIds(@PathVariable @NotNull Long id) {
+        return Result.success(tenantService.getMenuIds(id));
+    }
 }
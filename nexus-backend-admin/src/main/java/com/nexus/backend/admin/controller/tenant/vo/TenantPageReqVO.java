@@ -28,8 +28,6 @@ public class TenantPageReqVO extends BasePageQuery {
     private String code;
     @Schema(description = "数据源ID（关联datasource_config.id）", example = "1")
     private Long datasourceId;
-    @Schema(description = "分配的菜单ID集合，格式：[1, 2, 100, 101, 102]", example = "示例文本")
-    private String menuIds;
     @Schema(description = "用户数量（可创建的用户数量）", example = "1")
     private Integer maxUsers;
     @Schema(description = "过期时间 - 开始时间", example = "2023-01-01 00:00:00")
@@ -32,14 +32,18 @@ public class TenantRespVO {
     @ExcelProperty("数据源ID")
     private Long datasourceId;
 
-    @Schema(description = "分配的菜单ID集合，格式：[1, 2, 100, 101, 102]", example = "示例文本")
-    @ExcelProperty("分配的菜单ID集合")
-    private String menuIds;
-
     @Schema(description = "用户数量（可创建的用户数量）", example = "1")
     @ExcelProperty("用户数量")
     private Integer maxUsers;
 
+    @Schema(description = "同时执行的 SQL 数，0 表示使用默认值", example = "4")
+    @ExcelProperty("同时执行的SQL数")
+    private Integer maxDbConcurrency;
+
+    @Schema(description = "同时执行的耗时操作数（导入导出等），0 表示使用默认值", example = "2")
+    @ExcelProperty("同时执行的耗时操作数")
+    private Integer maxHeavyConcurrency;
+
     @Schema(description = "过期时间", example = "2024-01-01 00:00:00")
     @ExcelProperty("过期时间")
     private LocalDateTime expireTime;
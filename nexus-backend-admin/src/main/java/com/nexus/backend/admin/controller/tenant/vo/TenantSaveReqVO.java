@@ -3,6 +3,7 @@ package com.nexus.backend.admin.controller.tenant.vo;
 import com.alibaba.excel.annotation.ExcelProperty;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -34,15 +35,21 @@ public class TenantSaveReqVO {
     @ExcelProperty("数据源ID（关联datasource_config.id）")
     private Long datasourceId;
 
-    @Schema(description = "分配的菜单ID集合，格式：[1, 2, 100, 101, 102]", example = "示例文本")
-    @ExcelProperty("分配的菜单ID集合，格式：[1, 2, 100, 101, 102]")
-    private String menuIds;
-
     @Schema(description = "用户数量（可创建的用户数量）", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
     @ExcelProperty("用户数量（可创建的用户数量）")
     @NotNull(message = "用户数量（可创建的用户数量）不能为空")
     private Integer maxUsers;
 
+    @Schema(description = "同时执行的 SQL 数，0 表示使用默认值", example = "4")
+    @ExcelProperty("同时执行的 SQL 数")
+    @Min(value = 0, message = "同时执行的 SQL 数不能小于0")
+    private Integer maxDbConcurrency;
+
+    @Schema(description = "同时执行的耗时操作数（导入导出等），0 表示使用默认值", example = "2")
+    @ExcelProperty("同时执行的耗时操作数")
+    @Min(value = 0, message = "同时执行的耗时操作数不能小于0")
+    private Integer maxHeavyConcurrency;
+
     @Schema(description = "过期时间", requiredMode = Schema.RequiredMode.REQUIRED, example = "2024-01-01 00:00:00")
     @ExcelProperty("过期时间")
     @NotNull(message = "过期时间不能为空")
@@ -5,13 +5,14 @@ import com.nexus.backend.admin.convert.UserConvert;
 import com.nexus.backend.admin.dal.dataobject.user.UserDO;
 import com.nexus.backend.admin.service.user.UserService;
 import com.nexus.framework.excel.ExcelUtils;
+import com.nexus.framework.security.annotation.RequiresPermission;
+import com.nexus.framework.tenant.annotation.TenantBulkhead;
 import com.nexus.framework.web.result.PageResult;
 import com.nexus.framework.web.result.Result;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -38,7 +39,7 @@ public class UserController {
      * 创建用户信息表
      */
     @PostMapping("/create")
-    @PreAuthorize("hasAuthority('system:user:create')")
+    @RequiresPermission("system:user:create")
     public Result<Long> create(@Valid @RequestBody UserSaveReqVO createReqVO) {
         Long id = userService.create(createReqVO);
         return Result.success(id);
@@ -48,7 +49,7 @@ public class UserController {
      * 更新用户信息表
      */
     @PutMapping("/update")
-    @PreAuthorize("hasAuthority('system:user:update')")
+    @RequiresPermission("system:user:update")
     public Result<Boolean> update(@Valid @RequestBody UserSaveReqVO updateReqVO) {
         userService.update(updateReqVO);
         return Result.success(true);
@@ -58,7 +59,7 @@ public class UserController {
      * 删除用户信息表
      */
     @DeleteMapping("/delete/{id}")
-    @PreAuthorize("hasAuthority('system:user:delete')")
+    @RequiresPermission("system:user:delete")
     public Result<Boolean> delete(@PathVariable("id") Long id) {
         userService.delete(id);
         return Result.success(true);
@@ -68,7 +69,7 @@ public class UserController {
      * 批量删除用户信息表
      */
     @DeleteMapping("/delete-batch")
-    @PreAuthorize("hasAuthority('system:user:delete')")
+    @RequiresPermission("system:user:delete")
     public Result<Boolean> deleteBatch(@RequestBody List<Long> ids) {
         userService.batchDelete(ids);
         return Result.success(true);
@@ -78,7 +79,7 @@ public class UserController {
      * 获得用户信息表详情
      */
     @GetMapping("/get/{id}")
-    @PreAuthorize("hasAuthority('system:user:query')")
+    @RequiresPermission("system:user:query")
     public Result<UserRespVO> getById(@PathVariable("id") Long id) {
         UserDO user = userService.getById(id);
         UserRespVO respVO = UserConvert.INSTANCE.toRespVO(user);
@@ -89,7 +90,7 @@ public class UserController {
      * 获得用户信息表分页列表
      */
     @GetMapping("/page")
-    @PreAuthorize("hasAuthority('system:user:query')")
+    @RequiresPermission("system:user:query")
     public Result<PageResult<UserRespVO>> getPage(@Valid UserPageReqVO pageReqVO) {
         PageResult<UserRespVO> pageResult = userService.getPage(pageReqVO);
         return Result.success(pageResult);
@@ -99,7 +100,8 @@ public class UserController {
      * 导出用户信息表 Excel
      */
     @GetMapping("/export")
-    @PreAuthorize("hasAuthority('system:user:export')")
+    @RequiresPermission("system:user:export")
+    @TenantBulkhead
     public void export(@Valid UserPageReqVO pageReqVO, HttpServletResponse response)
             throws IOException {
         // 查询数据
@@ -126,7 +128,8 @@ public class UserController {
      * 导入用户信息表 Excel
      */
     @PostMapping("/import")
-    @PreAuthorize("hasAuthority('system:user:import')")
+    @RequiresPermission("system:user:import")
+    @TenantBulkhead
     public Result<String> importData(@RequestParam("file") MultipartFile file)
             throws IOException {
         // 使用 ExcelUtils 导入
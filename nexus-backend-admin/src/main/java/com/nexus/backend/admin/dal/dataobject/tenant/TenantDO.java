@@ -49,18 +49,24 @@ public class TenantDO extends BaseDO {
     @TableField("datasource_id")
     private Long datasourceId;
 
-    /**
-     * 分配的菜单ID集合，格式：[1, 2, 100, 101, 102]
-     */
-    @TableField("menu_ids")
-    private String menuIds;
-
     /**
      * 用户数量（可创建的用户数量）
      */
     @TableField("max_users")
     private Integer maxUsers;
 
+    /**
+     * 同时执行的 SQL 数，0 表示使用默认值
+     */
+    @TableField("max_db_concurrency")
+    private Integer maxDbConcurrency;
+
+    /**
+     * 同时执行的耗时操作数（导入导出等），0 表示使用默认值
+     */
+    @TableField("max_heavy_concurrency")
+    private Integer maxHeavyConcurrency;
+
     /**
      * 过期时间
      */
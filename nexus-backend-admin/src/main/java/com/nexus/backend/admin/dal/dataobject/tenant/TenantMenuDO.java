@@ -0,0 +1,36 @@
+package com.nexus.backend.admin.dal.dataobject.tenant;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.nexus.framework.mybatis.entity.BaseCreateDO;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 租户菜单关联 DO
+ *
+ * @author nexus
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("system_tenant_menu")
+public class TenantMenuDO extends BaseCreateDO {
+
+    /**
+     * ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 租户ID
+     */
+    private Long tenantId;
+
+    /**
+     * 菜单ID
+     */
+    private Long menuId;
+
+}
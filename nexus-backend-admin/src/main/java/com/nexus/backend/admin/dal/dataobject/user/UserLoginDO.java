@@ -0,0 +1,36 @@
+package com.nexus.backend.admin.dal.dataobject.user;
+
+import com.nexus.backend.admin.dal.dataobject.permission.MenuDO;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户登录聚合 DO
+ *
+ * 登录认证时一次联表查询得到：用户信息 + 角色ID + 角色分配的按钮（菜单ID + 权限标识）
+ *
+ * @author nexus
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class UserLoginDO extends UserDO {
+
+    /**
+     * 角色ID集合
+     */
+    private Set<Long> roleIds = new HashSet<>();
+
+    /**
+     * 角色分配的按钮（只包含启用的按钮，只填充 id 和 permission），尚未按租户分配的菜单过滤
+     */
+    private List<MenuDO> buttons = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.nexus.backend.admin.dal.mapper.tenant;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.nexus.backend.admin.dal.dataobject.tenant.TenantMenuDO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 租户菜单关联 Mapper
+ *
+ * @author nexus
+ */
+@Mapper
+public interface TenantMenuMapper extends BaseMapper<TenantMenuDO> {
+}
@@ -2,6 +2,7 @@ package com.nexus.backend.admin.dal.mapper.user;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.nexus.backend.admin.dal.dataobject.user.UserDO;
+import com.nexus.backend.admin.dal.dataobject.user.UserLoginDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -31,4 +32,12 @@ public interface UserMapper extends BaseMapper<UserDO> {
      * @return 更新数量
      */
     int updateBatch(@Param("list") List<UserDO> list);
+
+    /**
+     * 登录查询：一次联表查询用户、角色ID和按钮权限
+     *
+     * @param username 用户账号
+     * @return 用户登录聚合，用户不存在时返回 null
+     */
+    UserLoginDO selectLoginByUsername(@Param("username") String username);
 }
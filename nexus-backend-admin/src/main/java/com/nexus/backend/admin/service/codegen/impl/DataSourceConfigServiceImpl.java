@@ -6,9 +6,11 @@ import com.nexus.backend.admin.controller.codegen.vo.DataSourcePageReqVO;
 import com.nexus.backend.admin.dal.dataobject.codegen.DataSourceConfigDO;
 import com.nexus.backend.admin.dal.mapper.codegen.DataSourceConfigMapper;
 import com.nexus.backend.admin.service.codegen.DataSourceConfigService;
+import com.nexus.framework.tenant.event.TenantDataSourceChangedEvent;
 import com.nexus.framework.web.result.PageResult;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -28,6 +30,9 @@ public class DataSourceConfigServiceImpl implements DataSourceConfigService {
     @Resource
     private DataSourceConfigMapper dataSourceConfigMapper;
 
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public PageResult<DataSourceConfigDO> getPage(DataSourcePageReqVO pageReqVO) {
         Page<DataSourceConfigDO> page = new Page<>(pageReqVO.getPageNum(), pageReqVO.getPageSize());
@@ -62,11 +67,14 @@ public class DataSourceConfigServiceImpl implements DataSourceConfigService {
     @Override
     public void update(DataSourceConfigDO dataSourceConfig) {
         dataSourceConfigMapper.updateById(dataSourceConfig);
+        // 关闭使用旧配置的租户连接池
+        eventPublisher.publishEvent(new TenantDataSourceChangedEvent(this, dataSourceConfig.getId()));
     }
 
     @Override
     public void delete(Long id) {
         dataSourceConfigMapper.deleteById(id);
+        eventPublisher.publishEvent(new TenantDataSourceChangedEvent(this, id));
     }
 
     @Override
@@ -1,5 +1,8 @@
 package com.nexus.backend.admin.service.permission;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -18,6 +21,28 @@ public interface PermissionService {
      */
     Set<String> getUserAllPermissions(Long userId);
 
+    /**
+     * 获取用户可用的菜单ID：角色分配的菜单与当前租户分配的菜单的交集（没有租户时只取角色分配的菜单）
+     *
+     * @param userId 用户ID
+     * @return 菜单ID位图（按菜单ID置位）
+     */
+    BitSet getUserMenuIds(Long userId);
+
+    /**
+     * 只保留当前租户分配的菜单（没有租户或忽略租户时不限制）
+     *
+     * @param menuIds 菜单ID位图，原地修改
+     */
+    void retainTenantMenus(BitSet menuIds);
+
+    /**
+     * 获取系统中所有按钮的权限标识（按菜单ID排序、去重）
+     *
+     * @return 权限标识列表
+     */
+    List<String> getAllPermissions();
+
     /**
      * 判断用户是否拥有指定权限
      *
@@ -44,4 +69,26 @@ public interface PermissionService {
      * @return true=拥有所有权限，false=缺少任意权限
      */
     boolean hasAllPermissions(Long userId, String... permissions);
+
+    /**
+     * 失效拥有指定角色的用户的权限缓存
+     *
+     * @param roleIds 角色ID集合
+     */
+    void invalidateByRoleIds(Collection<Long> roleIds);
+
+    /**
+     * 失效拥有指定菜单（通过角色）的用户的权限缓存
+     * 注意：需在删除角色菜单关联之前调用
+     *
+     * @param menuId 菜单ID
+     */
+    void invalidateByMenuId(Long menuId);
+
+    /**
+     * 失效指定用户的权限缓存
+     *
+     * @param userIds 用户ID集合
+     */
+    void invalidateByUserIds(Collection<Long> userIds);
 }
@@ -4,21 +4,23 @@ import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.nexus.backend.admin.controller.permission.vo.menu.MenuSaveReqVO;
 import com.nexus.backend.admin.dal.dataobject.permission.MenuDO;
-import com.nexus.backend.admin.dal.dataobject.permission.RoleDO;
 import com.nexus.backend.admin.dal.dataobject.permission.RoleMenuDO;
+import com.nexus.backend.admin.dal.dataobject.tenant.TenantMenuDO;
 import com.nexus.backend.admin.dal.mapper.permission.MenuMapper;
 import com.nexus.backend.admin.dal.mapper.permission.RoleMenuMapper;
+import com.nexus.backend.admin.dal.mapper.tenant.TenantMenuMapper;
 import com.nexus.backend.admin.enums.CommonStatusEnum;
 import com.nexus.backend.admin.enums.MenuTypeEnum;
 import com.nexus.backend.admin.service.permission.MenuService;
-import com.nexus.backend.admin.service.permission.RoleService;
+import com.nexus.backend.admin.service.permission.PermissionService;
+import com.nexus.framework.security.service.PermissionRegistry;
 import com.nexus.framework.web.exception.BusinessException;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -36,7 +38,13 @@ public class MenuServiceImpl implements MenuService {
     private RoleMenuMapper roleMenuMapper;
 
     @Resource
-    private RoleService roleService;
+    private TenantMenuMapper tenantMenuMapper;
+
+    @Resource
+    private PermissionService permissionService;
+
+    @Resource
+    private PermissionRegistry permissionRegistry;
 
     @Override
     public Long create(MenuSaveReqVO reqVO) {
@@ -46,6 +54,9 @@ public class MenuServiceImpl implements MenuService {
         // 插入数据库
         menuMapper.insert(menu);
 
+        // 注册权限标识
+        permissionRegistry.register(menu.getPermission());
+
         return menu.getId();
     }
 
@@ -59,6 +70,12 @@ public class MenuServiceImpl implements MenuService {
 
         // 更新数据库
         menuMapper.updateById(menu);
+
+        // 注册权限标识
+        permissionRegistry.register(menu.getPermission());
+
+        // 权限标识/状态可能变化，失效拥有该菜单的用户的权限缓存
+        permissionService.invalidateByMenuId(menu.getId());
     }
 
     @Override
@@ -77,10 +94,18 @@ public class MenuServiceImpl implements MenuService {
         // 删除菜单
         menuMapper.deleteById(id);
 
+        // 失效拥有该菜单的用户的权限缓存（需在删除角色菜单关联之前定位受影响用户）
+        permissionService.invalidateByMenuId(id);
+
         // 删除角色菜单关联
         roleMenuMapper.delete(
                 new LambdaQueryWrapper<RoleMenuDO>()
                         .eq(RoleMenuDO::getMenuId, id));
+
+        // 删除租户菜单关联
+        tenantMenuMapper.delete(
+                new LambdaQueryWrapper<TenantMenuDO>()
+                        .eq(TenantMenuDO::getMenuId, id));
     }
 
     @Override
@@ -116,29 +141,19 @@ public class MenuServiceImpl implements MenuService {
             return Collections.emptyList();
         }
 
-        // 1. 获取用户的所有角色
-        List<RoleDO> userRoles = roleService.getListByUserId(userId);
-        if (userRoles.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        // 2. 获取所有角色的菜单ID（去重）
-        Set<Long> menuIds = userRoles.stream()
-                .map(RoleDO::getId)
-                .flatMap(roleId -> getMenuIdsByRoleId(roleId).stream())
-                .collect(Collectors.toSet());
-
+        // 1. 获取用户可用的菜单ID（角色分配的菜单 ∩ 租户分配的菜单）
+        BitSet menuIds = permissionService.getUserMenuIds(userId);
         if (menuIds.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // 3. 查询菜单列表，过滤条件：
+        // 2. 查询菜单列表，过滤条件：
         // - 菜单ID在用户有权限的列表中
         // - 状态为启用
         // - 类型不是按钮（按钮权限不显示在菜单树中）
         return menuMapper.selectList(
                 new LambdaQueryWrapper<MenuDO>()
-                        .in(MenuDO::getId, menuIds)
+                        .in(MenuDO::getId, menuIds.stream().mapToObj(Long::valueOf).toList())
                         .eq(MenuDO::getStatus, CommonStatusEnum.ENABLE.getValue())
                         .ne(MenuDO::getType, MenuTypeEnum.BUTTON.getValue())
                         .orderByAsc(MenuDO::getSort));
@@ -10,11 +10,18 @@ import com.nexus.backend.admin.dal.mapper.permission.UserRoleMapper;
 import com.nexus.backend.admin.enums.CommonStatusEnum;
 import com.nexus.backend.admin.enums.MenuTypeEnum;
 import com.nexus.backend.admin.service.permission.PermissionService;
+import com.nexus.framework.security.event.PermissionChangedEvent;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.service.TenantInfoCache;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -38,38 +45,37 @@ public class PermissionServiceImpl implements PermissionService {
     @Resource
     private MenuMapper menuMapper;
 
+    @Resource
+    private TenantInfoCache tenantInfoCache;
+
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Set<String> getUserAllPermissions(Long userId) {
         if (userId == null) {
             return Collections.emptySet();
         }
 
-        // 1. 查询用户的所有角色ID
-        List<Long> roleIds = getUserRoleIds(userId);
-        if (CollectionUtils.isEmpty(roleIds)) {
-            log.debug("用户 {} 没有分配角色", userId);
-            return Collections.emptySet();
-        }
-
-        // 2. 查询角色分配的所有菜单ID（包括目录、菜单、按钮）
-        List<Long> menuIds = getRoleMenuIds(roleIds);
-        if (CollectionUtils.isEmpty(menuIds)) {
-            log.debug("用户 {} 的角色没有分配菜单", userId);
+        // 1. 角色分配的菜单 ∩ 租户分配的菜单（包括目录、菜单、按钮）
+        BitSet menuIds = getUserMenuIds(userId);
+        if (menuIds.isEmpty()) {
+            log.debug("用户 {} 没有可用的菜单", userId);
             return Collections.emptySet();
         }
 
-        // 3. 从已分配的菜单ID中，过滤出按钮权限
+        // 2. 从已分配的菜单ID中，过滤出按钮权限
         // 注意：只有角色明确分配的按钮才有权限，不是父菜单下的所有按钮都有权限
         List<MenuDO> buttons = menuMapper.selectList(
                 new LambdaQueryWrapper<MenuDO>()
                         .select(MenuDO::getPermission)
-                        .in(MenuDO::getId, menuIds) // 直接查询已分配的菜单ID
+                        .in(MenuDO::getId, toList(menuIds)) // 直接查询已分配的菜单ID
                         .eq(MenuDO::getType, MenuTypeEnum.BUTTON.getValue()) // 类型=按钮
                         .eq(MenuDO::getStatus, CommonStatusEnum.ENABLE.getValue()) // 状态=启用
                         .isNotNull(MenuDO::getPermission) // 权限标识不为空
         );
 
-        // 4. 提取权限标识
+        // 3. 提取权限标识
         Set<String> permissions = buttons.stream()
                 .map(MenuDO::getPermission)
                 .filter(p -> p != null && !p.trim().isEmpty())
@@ -79,6 +85,36 @@ public class PermissionServiceImpl implements PermissionService {
         return permissions;
     }
 
+    @Override
+    public BitSet getUserMenuIds(Long userId) {
+        BitSet menuIds = new BitSet();
+        if (userId == null) {
+            return menuIds;
+        }
+        List<Long> roleIds = getUserRoleIds(userId);
+        if (CollectionUtils.isEmpty(roleIds)) {
+            return menuIds;
+        }
+        getRoleMenuIds(roleIds).forEach(menuId -> menuIds.set(Math.toIntExact(menuId)));
+        retainTenantMenus(menuIds);
+        return menuIds;
+    }
+
+    @Override
+    public List<String> getAllPermissions() {
+        List<MenuDO> buttons = menuMapper.selectList(
+                new LambdaQueryWrapper<MenuDO>()
+                        .select(MenuDO::getId, MenuDO::getPermission)
+                        .eq(MenuDO::getType, MenuTypeEnum.BUTTON.getValue())
+                        .isNotNull(MenuDO::getPermission)
+                        .orderByAsc(MenuDO::getId));
+        return buttons.stream()
+                .map(MenuDO::getPermission)
+                .filter(p -> !p.trim().isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean hasPermission(Long userId, String permission) {
         if (userId == null || permission == null || permission.trim().isEmpty()) {
@@ -119,6 +155,68 @@ public class PermissionServiceImpl implements PermissionService {
         return true;
     }
 
+    @Override
+    public void invalidateByRoleIds(Collection<Long> roleIds) {
+        if (CollectionUtils.isEmpty(roleIds)) {
+            return;
+        }
+        List<Long> userIds = userRoleMapper.selectList(
+                new LambdaQueryWrapper<UserRoleDO>()
+                        .select(UserRoleDO::getUserId)
+                        .in(UserRoleDO::getRoleId, roleIds))
+                .stream()
+                .map(UserRoleDO::getUserId)
+                .distinct()
+                .collect(Collectors.toList());
+        invalidateByUserIds(userIds);
+    }
+
+    @Override
+    public void invalidateByMenuId(Long menuId) {
+        if (menuId == null) {
+            return;
+        }
+        List<Long> roleIds = roleMenuMapper.selectList(
+                new LambdaQueryWrapper<RoleMenuDO>()
+                        .select(RoleMenuDO::getRoleId)
+                        .eq(RoleMenuDO::getMenuId, menuId))
+                .stream()
+                .map(RoleMenuDO::getRoleId)
+                .distinct()
+                .collect(Collectors.toList());
+        invalidateByRoleIds(roleIds);
+    }
+
+    @Override
+    public void invalidateByUserIds(Collection<Long> userIds) {
+        if (CollectionUtils.isEmpty(userIds)) {
+            return;
+        }
+        log.debug("发布权限变更事件，受影响用户: {}", userIds);
+        eventPublisher.publishEvent(PermissionChangedEvent.ofUsers(this, userIds));
+    }
+
+    /**
+     * 与租户快照中的菜单位图按位与，不查询数据库；租户不存在时没有可用的菜单
+     */
+    @Override
+    public void retainTenantMenus(BitSet menuIds) {
+        Long tenantId = TenantContextHolder.getTenantId();
+        if (tenantId == null || TenantContextHolder.isIgnore()) {
+            return;
+        }
+        TenantInfo tenant = tenantInfoCache.get(tenantId);
+        if (tenant == null) {
+            menuIds.clear();
+            return;
+        }
+        menuIds.and(tenant.menuIds());
+    }
+
+    private static List<Long> toList(BitSet menuIds) {
+        return menuIds.stream().mapToObj(Long::valueOf).collect(Collectors.toList());
+    }
+
     /**
      * 获取用户的所有角色ID
      *
@@ -1,6 +1,5 @@
 package com.nexus.backend.admin.service.permission.impl;
 
-import com.baomidou.dynamic.datasource.annotation.DSTransactional;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.github.yulichang.query.MPJLambdaQueryWrapper;
 import com.github.yulichang.wrapper.MPJLambdaWrapper;
@@ -13,10 +12,12 @@ import com.nexus.backend.admin.dal.dataobject.permission.UserRoleDO;
 import com.nexus.backend.admin.dal.mapper.permission.RoleMapper;
 import com.nexus.backend.admin.dal.mapper.permission.RoleMenuMapper;
 import com.nexus.backend.admin.dal.mapper.permission.UserRoleMapper;
+import com.nexus.backend.admin.service.permission.PermissionService;
 import com.nexus.backend.admin.service.permission.RoleService;
 import com.nexus.framework.web.exception.BusinessException;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -38,6 +39,9 @@ public class RoleServiceImpl implements RoleService {
     @Resource
     private UserRoleMapper userRoleMapper;
 
+    @Resource
+    private PermissionService permissionService;
+
     @Override
     public Long create(RoleSaveReqVO reqVO) {
         // 校验角色编码唯一性
@@ -63,7 +67,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @DSTransactional(rollbackFor = Exception.class)
+    @Transactional(rollbackFor = Exception.class)
     public void delete(Long id) {
         // 校验角色是否存在
         RoleDO role = validateExists(id);
@@ -88,6 +92,9 @@ public class RoleServiceImpl implements RoleService {
         roleMenuMapper.delete(
                 new LambdaQueryWrapper<RoleMenuDO>()
                         .eq(RoleMenuDO::getRoleId, id));
+
+        // 失效拥有该角色的用户的权限缓存
+        permissionService.invalidateByRoleIds(List.of(id));
     }
 
     @Override
@@ -131,7 +138,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @DSTransactional(rollbackFor = Exception.class)
+    @Transactional(rollbackFor = Exception.class)
     public void batchDelete(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return;
@@ -163,6 +170,9 @@ public class RoleServiceImpl implements RoleService {
             roleMenuMapper.delete(new LambdaQueryWrapper<RoleMenuDO>()
                     .in(RoleMenuDO::getRoleId, partition));
         }
+
+        // 失效拥有这些角色的用户的权限缓存
+        permissionService.invalidateByRoleIds(ids);
     }
 
     @Override
@@ -182,7 +192,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    @DSTransactional
+    @Transactional(rollbackFor = Exception.class)
     public void assignMenu(RoleAssignMenuReqVO reqVO) {
         // 校验角色是否存在
         validateExists(reqVO.getRoleId());
@@ -205,6 +215,9 @@ public class RoleServiceImpl implements RoleService {
 
             roleMenuList.forEach(roleMenuMapper::insert);
         }
+
+        // 失效拥有该角色的用户的权限缓存
+        permissionService.invalidateByRoleIds(List.of(reqVO.getRoleId()));
     }
 
     @Override
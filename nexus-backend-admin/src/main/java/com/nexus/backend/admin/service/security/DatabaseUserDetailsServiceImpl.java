@@ -1,10 +1,14 @@
 package com.nexus.backend.admin.service.security;
 
+import com.nexus.backend.admin.dal.dataobject.permission.MenuDO;
 import com.nexus.backend.admin.dal.dataobject.user.UserDO;
+import com.nexus.backend.admin.dal.dataobject.user.UserLoginDO;
 import com.nexus.backend.admin.service.permission.PermissionService;
 import com.nexus.backend.admin.service.user.UserService;
 import com.nexus.framework.security.model.LoginUser;
 import com.nexus.framework.security.service.DatabaseUserDetailsService;
+import com.nexus.framework.security.service.PermissionVersionService;
+import com.nexus.framework.tenant.context.TenantContextHolder;
 import jakarta.annotation.Resource;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -12,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,16 +30,28 @@ public class DatabaseUserDetailsServiceImpl implements DatabaseUserDetailsServic
     @Resource
     private PermissionService permissionService;
 
+    @Resource
+    private PermissionVersionService permissionVersionService;
+
     @Override
     public UserDetails loadUserByUsername(String username) {
-        UserDO user = userService.getUserByUsername(username);
-        if (user == null) {
+        // 先解析用户ID并读取权限版本号，再加载用户及权限：加载期间权限发生变化时，token 中的版本号必然落后
+        UserDO userRef = userService.getUserByUsername(username);
+        if (userRef == null) {
+            throw new UsernameNotFoundException("用户不存在");
+        }
+        String permissionVersion = permissionVersionService.getVersion(userRef.getId());
+
+        UserLoginDO user = userService.getLoginUserByUsername(username);
+        if (user == null || !user.getId().equals(userRef.getId())) {
+            // 两次查询之间用户被删除或重建，版本号不再对应该用户
             throw new UsernameNotFoundException("用户不存在");
         }
-        Set<String> roleNames = permissionService.getUserAllPermissions(user.getId());
-        Collection<GrantedAuthority> authorities = getAuthorities(roleNames);
+        Long tenantId = TenantContextHolder.getTenantId();
+        Set<String> permissions = getTenantPermissions(user);
+        Collection<GrantedAuthority> authorities = getAuthorities(permissions);
 
-        return new LoginUser(
+        LoginUser loginUser = new LoginUser(
                 user.getId(),
                 user.getUsername(),
                 user.getPassword(),
@@ -43,6 +60,23 @@ public class DatabaseUserDetailsServiceImpl implements DatabaseUserDetailsServic
                 user.isCredentialsNonExpired(),
                 user.isAccountNonLocked(),
                 authorities);
+        loginUser.setPermissionVersion(permissionVersion);
+        loginUser.setPermissions(permissions);
+        loginUser.setTenantId(tenantId);
+        return loginUser;
+    }
+
+    /**
+     * 角色分配的按钮 ∩ 当前租户分配的菜单，与请求路径上加载权限的规则一致
+     */
+    private Set<String> getTenantPermissions(UserLoginDO user) {
+        BitSet menuIds = new BitSet();
+        user.getButtons().forEach(button -> menuIds.set(Math.toIntExact(button.getId())));
+        permissionService.retainTenantMenus(menuIds);
+        return user.getButtons().stream()
+                .filter(button -> menuIds.get(Math.toIntExact(button.getId())))
+                .map(MenuDO::getPermission)
+                .collect(Collectors.toSet());
     }
 
     private Collection<GrantedAuthority> getAuthorities(Set<String> permissions) {
@@ -1,20 +1,33 @@
 package com.nexus.backend.admin.service.security;
 
 import com.nexus.backend.admin.service.permission.PermissionService;
+import com.nexus.framework.security.service.PermissionCache;
 import com.nexus.framework.security.service.PermissionLoader;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Set;
 
+/**
+ * 权限加载器：优先读取两级缓存，未命中时回源数据库
+ */
 @Component
 public class PermissionLoaderImpl implements PermissionLoader {
 
     @Resource
     private PermissionService permissionService;
 
+    @Resource
+    private PermissionCache permissionCache;
+
     @Override
     public Set<String> loadUserPermissions(Long userId) {
-        return permissionService.getUserAllPermissions(userId);
+        return permissionCache.get(userId, permissionService::getUserAllPermissions);
+    }
+
+    @Override
+    public List<String> loadAllPermissions() {
+        return permissionService.getAllPermissions();
     }
 }
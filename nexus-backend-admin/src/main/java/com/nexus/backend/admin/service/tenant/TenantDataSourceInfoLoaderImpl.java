@@ -0,0 +1,27 @@
+package com.nexus.backend.admin.service.tenant;
+
+import com.nexus.backend.admin.dal.dataobject.codegen.DataSourceConfigDO;
+import com.nexus.backend.admin.dal.mapper.codegen.DataSourceConfigMapper;
+import com.nexus.framework.tenant.datasource.TenantDataSourceInfoLoader;
+import com.nexus.framework.tenant.model.TenantDataSourceInfo;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 租户数据源配置加载器：租户独立数据库的连接信息保存在 datasource_config
+ */
+@Component
+public class TenantDataSourceInfoLoaderImpl implements TenantDataSourceInfoLoader {
+
+    @Resource
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Override
+    public TenantDataSourceInfo load(Long datasourceId) {
+        DataSourceConfigDO config = dataSourceConfigMapper.selectById(datasourceId);
+        if (config == null) {
+            return null;
+        }
+        return new TenantDataSourceInfo(config.getId(), config.getUrl(), config.getUsername(), config.getPassword());
+    }
+}
@@ -0,0 +1,43 @@
+package com.nexus.backend.admin.service.tenant;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nexus.backend.admin.dal.dataobject.tenant.TenantMenuDO;
+import com.nexus.backend.admin.dal.mapper.tenant.TenantMapper;
+import com.nexus.backend.admin.dal.mapper.tenant.TenantMenuMapper;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.service.TenantInfoLoader;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 租户信息加载器：加载全部租户及其分配的菜单，用于各节点的本地租户快照
+ */
+@Component
+public class TenantInfoLoaderImpl implements TenantInfoLoader {
+
+    @Resource
+    private TenantMapper tenantMapper;
+
+    @Resource
+    private TenantMenuMapper tenantMenuMapper;
+
+    @Override
+    public List<TenantInfo> loadAll() {
+        Map<Long, BitSet> menuIds = new HashMap<>();
+        tenantMenuMapper.selectList(new LambdaQueryWrapper<TenantMenuDO>()
+                        .select(TenantMenuDO::getTenantId, TenantMenuDO::getMenuId))
+                .forEach(tenantMenu -> menuIds.computeIfAbsent(tenantMenu.getTenantId(), id -> new BitSet())
+                        .set(Math.toIntExact(tenantMenu.getMenuId())));
+        return tenantMapper.selectList(null).stream()
+                .map(tenant -> new TenantInfo(tenant.getId(), tenant.getCode(), tenant.getStatus(),
+                        tenant.getExpireTime(), tenant.getDatasourceId(),
+                        tenant.getMaxDbConcurrency(), tenant.getMaxHeavyConcurrency(),
+                        menuIds.getOrDefault(tenant.getId(), new BitSet())))
+                .toList();
+    }
+}
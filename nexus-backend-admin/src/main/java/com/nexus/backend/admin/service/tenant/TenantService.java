@@ -89,4 +89,12 @@ public interface TenantService {
      */
     void assignMenu(Long tenantId, List<Long> menuIds);
 
+    /**
+     * 获取租户分配的菜单ID
+     *
+     * @param tenantId 租户ID
+     * @return 菜单ID列表
+     */
+    List<Long> getMenuIds(Long tenantId);
+
 }
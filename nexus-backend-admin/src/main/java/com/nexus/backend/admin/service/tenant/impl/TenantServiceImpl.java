@@ -7,13 +7,19 @@ import com.nexus.framework.web.exception.BusinessException;
 import com.nexus.backend.admin.controller.tenant.vo.*;
 import com.nexus.backend.admin.convert.TenantConvert;
 import com.nexus.backend.admin.dal.dataobject.tenant.TenantDO;
+import com.nexus.backend.admin.dal.dataobject.tenant.TenantMenuDO;
 import com.nexus.backend.admin.dal.mapper.tenant.TenantMapper;
+import com.nexus.backend.admin.dal.mapper.tenant.TenantMenuMapper;
 import com.nexus.backend.admin.service.tenant.TenantService;
 import com.google.common.collect.Lists;
+import com.nexus.framework.security.event.PermissionChangedEvent;
+import com.nexus.framework.tenant.event.TenantChangedEvent;
 import com.nexus.framework.web.result.PageResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
@@ -31,12 +37,15 @@ import java.util.stream.Collectors;
 public class TenantServiceImpl implements TenantService {
 
     private final TenantMapper tenantMapper;
+    private final TenantMenuMapper tenantMenuMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Long create(TenantSaveReqVO createReqVO) {
         // 转换为 DO 并插入
         TenantDO tenant = TenantConvert.INSTANCE.toDO(createReqVO);
         tenantMapper.insert(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
         return tenant.getId();
     }
 
@@ -47,14 +56,20 @@ public class TenantServiceImpl implements TenantService {
         // 更新主表
         TenantDO updateTenant = TenantConvert.INSTANCE.toDO(updateReqVO);
         tenantMapper.updateById(updateTenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void delete(Long id) {
         // 校验存在
         validateExists(id);
         // 删除主表
         tenantMapper.deleteById(id);
+        // 删除租户菜单关联
+        tenantMenuMapper.delete(new LambdaQueryWrapper<TenantMenuDO>()
+                .eq(TenantMenuDO::getTenantId, id));
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
     }
 
     @Override
@@ -72,6 +87,7 @@ public class TenantServiceImpl implements TenantService {
         for (List<TenantDO> partition : partitions) {
             tenantMapper.insertBatch(partition);
         }
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
 
     }
 
@@ -91,10 +107,12 @@ public class TenantServiceImpl implements TenantService {
         for (List<TenantDO> partition : partitions) {
             tenantMapper.updateBatch(partition);
         }
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
 
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void batchDelete(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return;
@@ -104,7 +122,10 @@ public class TenantServiceImpl implements TenantService {
         List<List<Long>> partitions = Lists.partition(ids, 1000);
         for (List<Long> partition : partitions) {
             tenantMapper.deleteByIds(partition);
+            tenantMenuMapper.delete(new LambdaQueryWrapper<TenantMenuDO>()
+                    .in(TenantMenuDO::getTenantId, partition));
         }
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
 
     }
 
@@ -163,10 +184,6 @@ public class TenantServiceImpl implements TenantService {
         if (reqVO.getDatasourceId() != null) {
             wrapper.eq(TenantDO::getDatasourceId, reqVO.getDatasourceId());
         }
-        // 分配的菜单ID集合，格式：[1, 2, 100, 101, 102] - 模糊查询
-        if (StringUtils.hasText(reqVO.getMenuIds())) {
-            wrapper.like(TenantDO::getMenuIds, reqVO.getMenuIds());
-        }
         // 用户数量（可创建的用户数量） - 精确匹配
         if (reqVO.getMaxUsers() != null) {
             wrapper.eq(TenantDO::getMaxUsers, reqVO.getMaxUsers());
@@ -212,25 +229,42 @@ public class TenantServiceImpl implements TenantService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void assignMenu(Long tenantId, List<Long> menuIds) {
         // 校验租户是否存在
         validateExists(tenantId);
 
-        // 转换为JSON字符串
-        String menuIdsJson = null;
+        // 删除原有的租户菜单关联
+        tenantMenuMapper.delete(new LambdaQueryWrapper<TenantMenuDO>()
+                .eq(TenantMenuDO::getTenantId, tenantId));
+
+        // 批量插入新的租户菜单关联
         if (menuIds != null && !menuIds.isEmpty()) {
-            try {
-                menuIdsJson = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(menuIds);
-            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-                throw new BusinessException(500, "菜单ID序列化失败");
-            }
-        }
-
-        // 更新租户菜单
-        TenantDO tenant = new TenantDO();
-        tenant.setId(tenantId);
-        tenant.setMenuIds(menuIdsJson);
-        tenantMapper.updateById(tenant);
+            List<TenantMenuDO> tenantMenuList = menuIds.stream()
+                    .distinct()
+                    .map(menuId -> {
+                        TenantMenuDO tenantMenu = new TenantMenuDO();
+                        tenantMenu.setTenantId(tenantId);
+                        tenantMenu.setMenuId(menuId);
+                        return tenantMenu;
+                    })
+                    .toList();
+            tenantMenuMapper.insert(tenantMenuList);
+        }
+
+        // 重新加载租户快照中的菜单位图，并失效已缓存的用户权限
+        eventPublisher.publishEvent(new TenantChangedEvent(this));
+        eventPublisher.publishEvent(PermissionChangedEvent.ofAll(this));
+    }
+
+    @Override
+    public List<Long> getMenuIds(Long tenantId) {
+        return tenantMenuMapper.selectList(new LambdaQueryWrapper<TenantMenuDO>()
+                        .select(TenantMenuDO::getMenuId)
+                        .eq(TenantMenuDO::getTenantId, tenantId))
+                .stream()
+                .map(TenantMenuDO::getMenuId)
+                .collect(Collectors.toList());
     }
 
     /**
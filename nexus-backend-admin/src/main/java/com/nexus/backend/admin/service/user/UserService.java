@@ -2,6 +2,7 @@ package com.nexus.backend.admin.service.user;
 
 import com.nexus.backend.admin.controller.user.vo.*;
 import com.nexus.backend.admin.dal.dataobject.user.UserDO;
+import com.nexus.backend.admin.dal.dataobject.user.UserLoginDO;
 import com.nexus.framework.web.result.PageResult;
 import jakarta.validation.Valid;
 
@@ -90,6 +91,14 @@ public interface UserService {
      */
     UserDO getUserByUsername(String username);
 
+    /**
+     * 根据用户名获取登录聚合信息（用户 + 角色ID + 按钮权限，一次查询）
+     *
+     * @param username 用户名
+     * @return 用户登录聚合，用户不存在时返回 null
+     */
+    UserLoginDO getLoginUserByUsername(String username);
+
     /**
      * 获取当前用户个人信息
      *
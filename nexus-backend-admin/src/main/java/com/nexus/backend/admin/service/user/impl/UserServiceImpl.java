@@ -7,18 +7,23 @@ import com.google.common.collect.Lists;
 import com.nexus.backend.admin.controller.user.vo.*;
 import com.nexus.backend.admin.convert.UserConvert;
 import com.nexus.backend.admin.dal.dataobject.user.UserDO;
+import com.nexus.backend.admin.dal.dataobject.user.UserLoginDO;
 import com.nexus.backend.admin.dal.mapper.user.UserMapper;
+import com.nexus.backend.admin.service.permission.PermissionService;
 import com.nexus.backend.admin.service.user.UserService;
+import com.nexus.framework.security.event.TokenRevokedEvent;
 import com.nexus.framework.security.util.SecurityContextUtils;
 import com.nexus.framework.web.exception.BusinessException;
 import com.nexus.framework.web.result.PageResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +39,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final PermissionService permissionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Long create(UserSaveReqVO createReqVO) {
@@ -50,6 +57,10 @@ public class UserServiceImpl implements UserService {
         // 更新
         UserDO updateUser = UserConvert.INSTANCE.toDO(updateReqVO);
         userMapper.updateById(updateUser);
+        // 停用或重置密码后撤销该用户已签发的令牌
+        if (requiresTokenRevoke(updateReqVO)) {
+            revokeTokens(List.of(updateReqVO.getId()));
+        }
     }
 
     @Override
@@ -58,6 +69,10 @@ public class UserServiceImpl implements UserService {
         validateExists(id);
         // 删除
         userMapper.deleteById(id);
+        // 失效权限缓存
+        permissionService.invalidateByUserIds(List.of(id));
+        // 撤销已签发的令牌
+        revokeTokens(List.of(id));
     }
 
     @Override
@@ -94,6 +109,13 @@ public class UserServiceImpl implements UserService {
         for (List<UserDO> partition : partitions) {
             userMapper.updateBatch(partition);
         }
+
+        // 停用或重置密码后撤销这些用户已签发的令牌
+        List<Long> revokeIds = updateReqVOs.stream()
+                .filter(this::requiresTokenRevoke)
+                .map(UserSaveReqVO::getId)
+                .collect(Collectors.toList());
+        revokeTokens(revokeIds);
     }
 
     @Override
@@ -107,6 +129,10 @@ public class UserServiceImpl implements UserService {
         for (List<Long> partition : partitions) {
             userMapper.deleteByIds(partition);
         }
+        // 失效权限缓存
+        permissionService.invalidateByUserIds(ids);
+        // 撤销已签发的令牌
+        revokeTokens(ids);
     }
 
     @Override
@@ -149,6 +175,17 @@ public class UserServiceImpl implements UserService {
         return userMapper.selectOne(wrapper);
     }
 
+    @Override
+    public UserLoginDO getLoginUserByUsername(String username) {
+        UserLoginDO user = userMapper.selectLoginByUsername(username);
+        if (user != null) {
+            // 未分配角色/按钮时 LEFT JOIN 产生的空值
+            user.getRoleIds().removeIf(Objects::isNull);
+            user.getButtons().removeIf(button -> button == null || button.getId() == null);
+        }
+        return user;
+    }
+
     /**
      * 构建查询条件
      */
@@ -239,6 +276,23 @@ public class UserServiceImpl implements UserService {
         return wrapper;
     }
 
+    /**
+     * 停用用户或重置密码时需要撤销其令牌
+     */
+    private boolean requiresTokenRevoke(UserSaveReqVO reqVO) {
+        return (reqVO.getStatus() != null && reqVO.getStatus() != 0) || StringUtils.hasText(reqVO.getPassword());
+    }
+
+    /**
+     * 撤销用户已签发的全部令牌（事务提交后递增令牌纪元）
+     */
+    private void revokeTokens(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(new TokenRevokedEvent(this, userIds));
+    }
+
     /**
      * 校验用户信息表是否存在
      */
@@ -323,6 +377,8 @@ public class UserServiceImpl implements UserService {
         String encodedPassword = passwordEncoder.encode(updateReqVO.getNewPassword());
         user.setPassword(encodedPassword);
         userMapper.updateById(user);
+        // 撤销该用户已签发的全部令牌（包括当前会话），需重新登录
+        revokeTokens(List.of(userId));
 
         log.info("用户修改密码成功，userId: {}", userId);
     }
@@ -0,0 +1,16 @@
+-- ============================================================
+-- 多租户索引
+-- 功能：开启多租户后租户表上的 SQL 均带 tenant_id = ? 条件，
+--      以 tenant_id 开头的联合索引保证按租户查询只扫描本租户的数据
+-- ============================================================
+
+SET NAMES utf8mb4;
+
+-- 用户：登录按 租户 + 用户名 查询
+ALTER TABLE `system_user`
+    ADD KEY `idx_tenant_username` (`tenant_id`, `username`);
+
+-- 部门：按 租户 + 父部门 查询部门树，替代单列的 idx_tenant_id
+ALTER TABLE `system_dept`
+    DROP KEY `idx_tenant_id`,
+    ADD KEY `idx_tenant_parent` (`tenant_id`, `parent_id`);
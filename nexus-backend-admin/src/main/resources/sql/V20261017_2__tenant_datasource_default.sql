@@ -0,0 +1,10 @@
+-- ============================================================
+-- 租户数据源
+-- 功能：datasource_id = 0 表示租户使用共享主库，
+--      不为 0 时开启 nexus.tenant.datasource 后路由到该租户的独立数据库
+-- ============================================================
+
+SET NAMES utf8mb4;
+
+ALTER TABLE `system_tenant`
+    MODIFY COLUMN `datasource_id` BIGINT NOT NULL DEFAULT 0 COMMENT '数据源ID（关联datasource_config.id，0表示共享主库）';
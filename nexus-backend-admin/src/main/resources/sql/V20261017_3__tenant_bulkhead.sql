@@ -0,0 +1,11 @@
+-- ============================================================
+-- 租户并发隔离
+-- 功能：按租户限制同时执行的 SQL 数和耗时操作数（导入导出等），
+--      避免单个租户占满连接池，0 表示使用 nexus.tenant.bulkhead 中的默认值
+-- ============================================================
+
+SET NAMES utf8mb4;
+
+ALTER TABLE `system_tenant`
+    ADD COLUMN `max_db_concurrency` INT NOT NULL DEFAULT 0 COMMENT '同时执行的SQL数，0表示使用默认值' AFTER `max_users`,
+    ADD COLUMN `max_heavy_concurrency` INT NOT NULL DEFAULT 0 COMMENT '同时执行的耗时操作数（导入导出等），0表示使用默认值' AFTER `max_db_concurrency`;
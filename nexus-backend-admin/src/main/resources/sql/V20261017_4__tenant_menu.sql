@@ -0,0 +1,40 @@
+-- ============================================================
+-- 租户菜单关联
+-- 功能：租户分配的菜单从 system_tenant.menu_ids（JSON）迁移到关联表，
+--      用户的有效权限 = 角色分配的菜单 ∩ 租户分配的菜单
+-- ============================================================
+
+SET NAMES utf8mb4;
+
+CREATE TABLE IF NOT EXISTS `system_tenant_menu` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `tenant_id` BIGINT NOT NULL COMMENT '租户ID',
+    `menu_id` BIGINT NOT NULL COMMENT '菜单ID',
+    `creator` VARCHAR(64) DEFAULT NULL COMMENT '创建者',
+    `date_created` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_tenant_menu` (`tenant_id`, `menu_id`),
+    KEY `idx_menu_id` (`menu_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='租户菜单关联表';
+
+-- 迁移已分配的菜单
+INSERT IGNORE INTO `system_tenant_menu` (`tenant_id`, `menu_id`, `creator`)
+SELECT t.`id`, j.`menu_id`, 'system'
+FROM `system_tenant` t,
+     JSON_TABLE(t.`menu_ids`, '$[*]' COLUMNS (`menu_id` BIGINT PATH '$')) j
+WHERE t.`menu_ids` IS NOT NULL
+  AND t.`deleted` = 0
+  AND j.`menu_id` IS NOT NULL;
+
+-- 未分配过菜单的租户（menu_ids 为空，包括默认租户）此前不受菜单限制，
+-- 授予全部菜单以保持原有权限，否则按位与后其用户将失去全部权限
+INSERT IGNORE INTO `system_tenant_menu` (`tenant_id`, `menu_id`, `creator`)
+SELECT t.`id`, m.`id`, 'system'
+FROM `system_tenant` t
+CROSS JOIN `system_menu` m
+WHERE (t.`menu_ids` IS NULL OR JSON_LENGTH(t.`menu_ids`) = 0)
+  AND t.`deleted` = 0
+  AND m.`deleted` = 0;
+
+ALTER TABLE `system_tenant`
+    DROP COLUMN `menu_ids`;
@@ -0,0 +1,140 @@
+package com.nexus.backend.admin.service.security;
+
+import com.nexus.backend.admin.dal.dataobject.permission.MenuDO;
+import com.nexus.backend.admin.dal.dataobject.user.UserDO;
+import com.nexus.backend.admin.dal.dataobject.user.UserLoginDO;
+import com.nexus.backend.admin.service.permission.impl.PermissionServiceImpl;
+import com.nexus.backend.admin.service.user.UserService;
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.model.LoginUser;
+import com.nexus.framework.security.service.JwkSigningKeyHolder;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.service.PermissionVersionService;
+import com.nexus.framework.security.service.UserTokenEpochService;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.service.TenantInfoCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DatabaseUserDetailsServiceImpl 单元测试
+ *
+ * @author nexus
+ */
+class DatabaseUserDetailsServiceImplTest {
+
+    private static final Long TENANT_ID = 10L;
+    private static final Long USER_ID = 100L;
+
+    private final DatabaseUserDetailsServiceImpl userDetailsService = new DatabaseUserDetailsServiceImpl();
+    private final UserService userService = mock(UserService.class);
+    private final TenantInfoCache tenantInfoCache = mock(TenantInfoCache.class);
+    private final JwtEncoder jwtEncoder = mock(JwtEncoder.class);
+    private final PermissionVersionService permissionVersionService = mock(PermissionVersionService.class);
+    private JwtTokenGenerator jwtTokenGenerator;
+
+    @BeforeEach
+    void setUp() {
+        PermissionServiceImpl permissionService = new PermissionServiceImpl();
+        ReflectionTestUtils.setField(permissionService, "tenantInfoCache", tenantInfoCache);
+        ReflectionTestUtils.setField(userDetailsService, "userService", userService);
+        ReflectionTestUtils.setField(userDetailsService, "permissionService", permissionService);
+        ReflectionTestUtils.setField(userDetailsService, "permissionVersionService", permissionVersionService);
+
+        JwkSigningKeyHolder signingKeyHolder = mock(JwkSigningKeyHolder.class);
+        when(signingKeyHolder.getAlgorithm()).thenReturn("RS256");
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setCompactAuthoritiesEnabled(false);
+        jwtTokenGenerator = new JwtTokenGenerator(jwtEncoder, signingKeyHolder, jwtProperties,
+                mock(UserTokenEpochService.class), new PermissionRegistry());
+        when(jwtEncoder.encode(any())).thenReturn(Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "admin")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build());
+
+        UserLoginDO user = new UserLoginDO();
+        user.setId(USER_ID);
+        user.setUsername("admin");
+        user.setPassword("{noop}admin");
+        user.setButtons(List.of(button(1L, "system:user:query"), button(2L, "system:user:delete")));
+        when(userService.getLoginUserByUsername("admin")).thenReturn(user);
+        UserDO userRef = new UserDO();
+        userRef.setId(USER_ID);
+        when(userService.getUserByUsername("admin")).thenReturn(userRef);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    /**
+     * 租户收回的菜单不出现在登录签发的令牌中，即使角色仍然分配了该按钮
+     */
+    @Test
+    void testRevokedTenantGrantMissingFromIssuedToken() {
+        BitSet tenantMenuIds = new BitSet();
+        tenantMenuIds.set(1);
+        when(tenantInfoCache.get(TENANT_ID)).thenReturn(new TenantInfo(TENANT_ID, "tenant", 1,
+                LocalDateTime.now().plusDays(1), null, 0, 0, tenantMenuIds));
+        TenantContextHolder.setTenantId(TENANT_ID);
+
+        LoginUser loginUser = (LoginUser) userDetailsService.loadUserByUsername("admin");
+        assertEquals(Set.of("system:user:query"), loginUser.getPermissions());
+
+        jwtTokenGenerator.generateToken(new UsernamePasswordAuthenticationToken(
+                loginUser, null, loginUser.getAuthorities()));
+        ArgumentCaptor<JwtEncoderParameters> parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+        verify(jwtEncoder).encode(parameters.capture());
+        assertEquals(List.of("system:user:query"),
+                parameters.getValue().getClaims().getClaimAsStringList(JwtTokenGenerator.CLAIM_AUTHORITIES));
+        assertEquals(TENANT_ID, parameters.getValue().getClaims().<Long>getClaim(JwtTokenGenerator.CLAIM_TENANT_ID));
+    }
+
+    /**
+     * 首次登录（本节点未见过该用户）也写入权限版本号，且版本号在加载权限之前读取
+     */
+    @Test
+    void testPermissionVersionReadBeforeLoadingPermissions() {
+        when(permissionVersionService.getVersion(USER_ID)).thenReturn("0.3");
+
+        LoginUser loginUser = (LoginUser) userDetailsService.loadUserByUsername("admin");
+        assertEquals("0.3", loginUser.getPermissionVersion());
+
+        InOrder inOrder = inOrder(permissionVersionService, userService);
+        inOrder.verify(permissionVersionService).getVersion(USER_ID);
+        inOrder.verify(userService).getLoginUserByUsername("admin");
+    }
+
+    private static MenuDO button(Long id, String permission) {
+        MenuDO button = new MenuDO();
+        button.setId(id);
+        button.setPermission(permission);
+        return button;
+    }
+}
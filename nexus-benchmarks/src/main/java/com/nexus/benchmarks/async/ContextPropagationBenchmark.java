@@ -0,0 +1,93 @@
+package com.nexus.benchmarks.async;
+
+import com.alibaba.ttl.TtlRunnable;
+import com.nexus.framework.async.context.ContextSnapshot;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步任务上下文传递开销基准测试
+ *
+ * 在同一线程上完成 捕获 → 恢复 → 执行 → 还原，只衡量上下文传递本身的开销（不含线程切换）：
+ * baseline：直接执行任务；ttlOnly：只传递 TransmittableThreadLocal（TtlRunnable）；
+ * snapshot：ContextSnapshot 传递租户、登录用户和 MDC；captureOnly：只捕获
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar ContextPropagationBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ContextPropagationBenchmark {
+
+    /**
+     * MDC 中的条目数（0 表示未使用 MDC）
+     */
+    @Param({"0", "4"})
+    public int mdcEntries;
+
+    private long counter;
+
+    private final Runnable task = () -> counter++;
+
+    @Setup
+    public void setup() {
+        TenantContextHolder.setTenantId(1L);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("system:user:query", "system:user:create")));
+        for (int i = 0; i < mdcEntries; i++) {
+            MDC.put("key" + i, "value" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContextHolder.clear();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Benchmark
+    public long baseline() {
+        task.run();
+        return counter;
+    }
+
+    @Benchmark
+    public long ttlOnly() {
+        TtlRunnable.get(task).run();
+        return counter;
+    }
+
+    @Benchmark
+    public long snapshot() {
+        ContextSnapshot.capture().wrap(task).run();
+        return counter;
+    }
+
+    @Benchmark
+    public ContextSnapshot captureOnly() {
+        return ContextSnapshot.capture();
+    }
+}
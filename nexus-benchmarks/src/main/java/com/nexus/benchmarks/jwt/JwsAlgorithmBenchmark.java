@@ -0,0 +1,137 @@
+package com.nexus.benchmarks.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWS 签名算法基准测试
+ *
+ * 对比 RS256 / ES256 / ES384 的签名、验签吞吐量，并在 Setup 阶段打印与业务一致的 token 长度
+ * （claims 与 JwtTokenGenerator 相同：userId、authorities、jti 等）
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar JwsAlgorithmBenchmark
+ *
+ * EdDSA 未纳入：Spring Security 的 SignatureAlgorithm 不支持 EdDSA，项目中无法使用
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwsAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "ES384"})
+    public String algorithm;
+
+    /**
+     * token 中携带的权限数量
+     */
+    @Param({"20"})
+    public int authorityCount;
+
+    private JWSSigner signer;
+    private JWSVerifier verifier;
+    private JWSHeader header;
+    private JWTClaimsSet claims;
+    private SignedJWT signedToken;
+
+    @Setup
+    public void setup() throws JOSEException {
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+        JWK jwk = generateKey(jwsAlgorithm);
+        if (jwk instanceof RSAKey rsaKey) {
+            signer = new RSASSASigner(rsaKey);
+            verifier = new RSASSAVerifier(rsaKey.toPublicJWK());
+        } else {
+            ECKey ecKey = (ECKey) jwk;
+            signer = new ECDSASigner(ecKey);
+            verifier = new ECDSAVerifier(ecKey.toPublicJWK());
+        }
+        header = new JWSHeader.Builder(jwsAlgorithm).keyID(jwk.getKeyID()).build();
+        claims = buildClaims(authorityCount);
+        signedToken = sign();
+
+        String token = signedToken.serialize();
+        System.out.printf("%n[%s] token 长度: %d 字节，签名部分: %d 字节%n",
+                algorithm, token.length(), signedToken.getSignature().toString().length());
+    }
+
+    @Benchmark
+    public SignedJWT sign() throws JOSEException {
+        SignedJWT jwt = new SignedJWT(header, claims);
+        jwt.sign(signer);
+        return jwt;
+    }
+
+    @Benchmark
+    public boolean verify() throws JOSEException {
+        return signedToken.verify(verifier);
+    }
+
+    @Benchmark
+    public String signAndSerialize() throws JOSEException {
+        return sign().serialize();
+    }
+
+    private static JWK generateKey(JWSAlgorithm jwsAlgorithm) throws JOSEException {
+        String keyId = UUID.randomUUID().toString();
+        if (JWSAlgorithm.Family.RSA.contains(jwsAlgorithm)) {
+            return new RSAKeyGenerator(2048).keyID(keyId).algorithm(jwsAlgorithm).generate();
+        }
+        Curve curve = Curve.forJWSAlgorithm(jwsAlgorithm).iterator().next();
+        return new ECKeyGenerator(curve).keyID(keyId).algorithm(jwsAlgorithm).generate();
+    }
+
+    private static JWTClaimsSet buildClaims(int authorityCount) {
+        List<String> authorities = new ArrayList<>(authorityCount);
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add("system:resource" + i + ":query");
+        }
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .issuer("nexus-app")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(7200)))
+                .subject("admin")
+                .jwtID(UUID.randomUUID().toString())
+                .claim("userId", 1L)
+                .claim("authorities", authorities)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nexus.benchmarks.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 验签公钥获取基准测试
+ *
+ * 对比每次从 JSON 解析 JWKSet 再按 kid 选择（原 Redis 缓存实现）
+ * 与直接在本地已解析的 JWKSet 上选择（JwkVerificationKeyCache）
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar JwkSetBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwkSetBenchmark {
+
+    /**
+     * 公钥集中的密钥数量（轮换期间新旧密钥共存）
+     */
+    @Param({"1", "3"})
+    public int keyCount;
+
+    private String jwkSetJson;
+    private JWKSet cachedJwkSet;
+    private JWKSelector selector;
+
+    @Setup
+    public void setup() throws JOSEException {
+        List<JWK> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(SecurityFixtures.rsaKey().toPublicJWK());
+        }
+        cachedJwkSet = new JWKSet(keys);
+        jwkSetJson = cachedJwkSet.toString();
+        // 选择最旧的密钥，与"token 由上一把密钥签发"的场景一致
+        selector = new JWKSelector(new JWKMatcher.Builder()
+                .keyID(keys.get(keys.size() - 1).getKeyID())
+                .build());
+    }
+
+    @Benchmark
+    public List<JWK> parseAndSelect() throws ParseException {
+        return selector.select(JWKSet.parse(jwkSetJson));
+    }
+
+    @Benchmark
+    public List<JWK> cachedSelect() {
+        return selector.select(cachedJwkSet);
+    }
+
+    @Benchmark
+    public RSAKey parseToRsaKey() throws ParseException {
+        return (RSAKey) selector.select(JWKSet.parse(jwkSetJson)).get(0);
+    }
+}
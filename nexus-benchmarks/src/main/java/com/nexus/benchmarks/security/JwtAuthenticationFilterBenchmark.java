@@ -0,0 +1,122 @@
+package com.nexus.benchmarks.security;
+
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.decoder.CachingJwtDecoder;
+import com.nexus.framework.security.filter.JwtAuthenticationFilter;
+import com.nexus.framework.security.service.PermissionLoader;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 端到端基准测试
+ *
+ * 从解析 Authorization 头到写入 SecurityContext 的完整路径：验签 → 黑名单 → 令牌纪元 → 权限 → 权限位图。
+ * 黑名单、权限版本号、令牌纪元使用本地内存实现替代 Redis，权限加载模拟本地缓存命中。
+ * compactAuthorities 对比权限位图与权限标识列表两种 token 格式的解析开销
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar JwtAuthenticationFilterBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    /**
+     * 是否缓存验签结果（CachingJwtDecoder）
+     */
+    @Param({"true", "false"})
+    public boolean decoderCache;
+
+    /**
+     * 是否信任 token 中的权限（权限版本号一致时跳过权限加载）
+     */
+    @Param({"true", "false"})
+    public boolean trustedClaims;
+
+    /**
+     * 是否以权限位图代替权限标识列表写入 token
+     */
+    @Param({"true", "false"})
+    public boolean compactAuthorities;
+
+    @Param({"20", "200"})
+    public int authorityCount;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+    private Authentication authenticated;
+
+    @Setup
+    public void setup() throws JOSEException {
+        RSAKey rsaKey = SecurityFixtures.rsaKey();
+        List<String> permissions = SecurityFixtures.permissions(authorityCount);
+        PermissionRegistry permissionRegistry = new PermissionRegistry();
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setTrustedClaimsEnabled(trustedClaims);
+        jwtProperties.setCompactAuthoritiesEnabled(compactAuthorities);
+        String token = SecurityFixtures.jwtTokenGenerator(rsaKey, permissionRegistry, jwtProperties)
+                .generateToken(SecurityFixtures.loginAuthentication(permissions), "benchmark-session");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtDecoder jwtDecoder = SecurityFixtures.jwtDecoder(rsaKey);
+        if (decoderCache) {
+            jwtDecoder = new CachingJwtDecoder(jwtDecoder, 10_000, 30, meterRegistry);
+        }
+        Set<String> loadedPermissions = Set.copyOf(permissions);
+        PermissionLoader permissionLoader = userId -> loadedPermissions;
+
+        filter = new JwtAuthenticationFilter(jwtDecoder, permissionLoader,
+                new SecurityFixtures.LocalJwtBlacklistCache(),
+                permissionRegistry,
+                new SecurityFixtures.FixedPermissionVersionService(),
+                new SecurityFixtures.FixedTokenEpochService(),
+                jwtProperties,
+                meterRegistry);
+        request = new MockHttpServletRequest("GET", "/system/user/page");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        filterChain = (req, res) -> authenticated = SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, filterChain);
+            return authenticated;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
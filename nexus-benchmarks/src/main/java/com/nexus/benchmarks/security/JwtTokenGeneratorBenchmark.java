@@ -0,0 +1,64 @@
+package com.nexus.benchmarks.security;
+
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nimbusds.jose.JOSEException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenGenerator.generateToken 基准测试（RS256，签发密钥已在内存中）
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar JwtTokenGeneratorBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenGeneratorBenchmark {
+
+    @Param({"20", "200"})
+    public int authorityCount;
+
+    /**
+     * 是否以权限位图代替权限标识列表写入 token
+     */
+    @Param({"true", "false"})
+    public boolean compactAuthorities;
+
+    private JwtTokenGenerator jwtTokenGenerator;
+    private Authentication authentication;
+
+    @Setup
+    public void setup() throws JOSEException {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setCompactAuthoritiesEnabled(compactAuthorities);
+        jwtTokenGenerator = SecurityFixtures.jwtTokenGenerator(SecurityFixtures.rsaKey(),
+                new PermissionRegistry(), jwtProperties);
+        authentication = SecurityFixtures.loginAuthentication(SecurityFixtures.permissions(authorityCount));
+        System.out.printf("%n[compactAuthorities=%s, authorityCount=%d] token 长度: %d 字节%n",
+                compactAuthorities, authorityCount, generateToken().length());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenGenerator.generateToken(authentication, "benchmark-session");
+    }
+}
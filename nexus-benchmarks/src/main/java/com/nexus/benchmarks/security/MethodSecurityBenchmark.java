@@ -0,0 +1,171 @@
+package com.nexus.benchmarks.security;
+
+import com.nexus.framework.security.annotation.RequiresPermission;
+import com.nexus.framework.security.config.SecurityConfig;
+import com.nexus.framework.security.interceptor.RequiresPermissionInterceptor;
+import com.nexus.framework.security.model.PermissionAuthenticationToken;
+import com.nexus.framework.security.service.PermissionLoader;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.util.SecurityFrameworkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 方法级权限校验基准测试
+ *
+ * 在真实的 Spring 方法安全代理上对比：
+ * hasAuthority（SpEL）、@ss.hasPermission（SpEL + Bean 查找）、@RequiresPermission（预解析权限ID），
+ * 以及无注解方法的代理开销基线
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar MethodSecurityBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodSecurityBenchmark {
+
+    private static final String PERMISSION = "system:user:create";
+
+    @Param({"20", "200"})
+    public int authorityCount;
+
+    private AnnotationConfigApplicationContext context;
+    private ProtectedService protectedService;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(MethodSecurityConfig.class);
+        protectedService = context.getBean(ProtectedService.class);
+
+        List<String> permissions = SecurityFixtures.permissions(authorityCount - 1);
+        permissions.add(PERMISSION);
+        PermissionRegistry permissionRegistry = context.getBean(PermissionRegistry.class);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(SecurityFixtures.USERNAME)
+                .claim("userId", SecurityFixtures.USER_ID)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(7200))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new PermissionAuthenticationToken(
+                jwt, SecurityFixtures.authorities(permissions), permissionRegistry.toMask(permissions)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public String baseline() {
+        return protectedService.unprotected();
+    }
+
+    @Benchmark
+    public String preAuthorizeHasAuthority() {
+        return protectedService.hasAuthority();
+    }
+
+    @Benchmark
+    public String preAuthorizeSs() {
+        return protectedService.ssHasPermission();
+    }
+
+    @Benchmark
+    public String requiresPermission() {
+        return protectedService.requiresPermission();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableMethodSecurity
+    public static class MethodSecurityConfig {
+
+        @Bean
+        public PermissionLoader permissionLoader() {
+            return userId -> Collections.emptySet();
+        }
+
+        @Bean
+        public PermissionRegistry permissionRegistry() {
+            return new PermissionRegistry();
+        }
+
+        @Bean("ss")
+        public SecurityFrameworkService securityFrameworkService() {
+            return new SecurityFrameworkService();
+        }
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        public static RequiresPermissionInterceptor requiresPermissionInterceptor(
+                ObjectProvider<SecurityFrameworkService> securityFrameworkService,
+                ObjectProvider<PermissionRegistry> permissionRegistry) {
+            return SecurityConfig.requiresPermissionInterceptor(securityFrameworkService, permissionRegistry);
+        }
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        public static Advisor requiresPermissionAdvisor(RequiresPermissionInterceptor requiresPermissionInterceptor) {
+            return SecurityConfig.requiresPermissionAdvisor(requiresPermissionInterceptor);
+        }
+
+        @Bean
+        public ProtectedService protectedService() {
+            return new ProtectedService();
+        }
+    }
+
+    public static class ProtectedService {
+
+        public String unprotected() {
+            return PERMISSION;
+        }
+
+        @PreAuthorize("hasAuthority('system:user:create')")
+        public String hasAuthority() {
+            return PERMISSION;
+        }
+
+        @PreAuthorize("@ss.hasPermission('system:user:create')")
+        public String ssHasPermission() {
+            return PERMISSION;
+        }
+
+        @RequiresPermission(PERMISSION)
+        public String requiresPermission() {
+            return PERMISSION;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.nexus.benchmarks.security;
+
+import com.nexus.framework.security.model.PermissionAuthenticationToken;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.util.SecurityFrameworkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecurityFrameworkService.hasAnyPermission 基准测试
+ *
+ * 对比权限位图（PermissionAuthenticationToken）与遍历 authorities（JwtAuthenticationToken）两种校验方式，
+ * 参数为第一个未拥有、第二个为集合中最后一个权限，即"任意一个"语义下的最坏情况
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar PermissionCheckBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PermissionCheckBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int authorityCount;
+
+    @Param({"bitmap", "legacy"})
+    public String mode;
+
+    private SecurityFrameworkService securityFrameworkService;
+    private String missing;
+    private String last;
+
+    @Setup
+    public void setup() {
+        PermissionRegistry permissionRegistry = new PermissionRegistry();
+        securityFrameworkService = new SecurityFrameworkService();
+        ReflectionTestUtils.setField(securityFrameworkService, "permissionRegistry", permissionRegistry);
+
+        List<String> permissions = SecurityFixtures.permissions(authorityCount);
+        List<GrantedAuthority> authorities = SecurityFixtures.authorities(permissions);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(SecurityFixtures.USERNAME)
+                .claim("userId", SecurityFixtures.USER_ID)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(7200))
+                .build();
+        JwtAuthenticationToken authentication = "bitmap".equals(mode)
+                ? new PermissionAuthenticationToken(jwt, authorities, permissionRegistry.toMask(permissions))
+                : new JwtAuthenticationToken(jwt, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        missing = "system:missing:query";
+        last = permissions.get(authorityCount - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean hasAnyPermission() {
+        return securityFrameworkService.hasAnyPermission(missing, last);
+    }
+}
@@ -0,0 +1,74 @@
+package com.nexus.benchmarks.security;
+
+import com.nexus.framework.security.util.SecurityContextUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecurityContextUtils.getLoginUserIdAsString 基准测试
+ *
+ * jwt：请求经 JwtAuthenticationFilter 认证后的 JwtAuthenticationToken（从 claims 读取 userId）；
+ * loginUser：登录流程中的 UsernamePasswordAuthenticationToken（principal 为 LoginUser）
+ *
+ * 运行：java -jar nexus-benchmarks/target/benchmarks.jar SecurityContextUtilsBenchmark
+ *
+ * @author nexus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityContextUtilsBenchmark {
+
+    @Param({"jwt", "loginUser"})
+    public String authenticationType;
+
+    @Setup
+    public void setup() {
+        List<String> permissions = SecurityFixtures.permissions(20);
+        Authentication authentication;
+        if ("jwt".equals(authenticationType)) {
+            Jwt jwt = Jwt.withTokenValue("token")
+                    .header("alg", "RS256")
+                    .subject(SecurityFixtures.USERNAME)
+                    .claim("userId", SecurityFixtures.USER_ID)
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(7200))
+                    .build();
+            authentication = new JwtAuthenticationToken(jwt, SecurityFixtures.authorities(permissions));
+        } else {
+            authentication = SecurityFixtures.loginAuthentication(permissions);
+        }
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String getLoginUserIdAsString() {
+        return SecurityContextUtils.getLoginUserIdAsString();
+    }
+}
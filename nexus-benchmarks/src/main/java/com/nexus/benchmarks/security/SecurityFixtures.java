@@ -0,0 +1,154 @@
+package com.nexus.benchmarks.security;
+
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.model.LoginUser;
+import com.nexus.framework.security.service.JwkSigningKeyHolder;
+import com.nexus.framework.security.service.JwtBlacklistCache;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.service.PermissionVersionService;
+import com.nexus.framework.security.service.UserTokenEpochService;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 安全模块基准测试公共夹具
+ *
+ * 依赖 Redis 的组件用本地内存实现替代（覆盖其读取方法），只测量 CPU 路径
+ *
+ * @author nexus
+ */
+final class SecurityFixtures {
+
+    static final Long USER_ID = 1L;
+    static final String USERNAME = "admin";
+    static final String PERMISSION_VERSION = "0.0";
+
+    private SecurityFixtures() {
+    }
+
+    static RSAKey rsaKey() throws JOSEException {
+        return new RSAKeyGenerator(2048)
+                .keyID(UUID.randomUUID().toString())
+                .algorithm(JWSAlgorithm.RS256)
+                .generate();
+    }
+
+    static JwtDecoder jwtDecoder(RSAKey rsaKey) throws JOSEException {
+        return NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+    }
+
+    static JwtTokenGenerator jwtTokenGenerator(RSAKey rsaKey) {
+        return jwtTokenGenerator(rsaKey, new PermissionRegistry(), new JwtProperties());
+    }
+
+    /**
+     * 签发节点与验证节点共用同一个权限注册表时，token 中的权限位图可直接还原
+     */
+    static JwtTokenGenerator jwtTokenGenerator(RSAKey rsaKey, PermissionRegistry permissionRegistry,
+            JwtProperties jwtProperties) {
+        JWKSet jwkSet = new JWKSet(rsaKey);
+        return new JwtTokenGenerator(
+                new NimbusJwtEncoder(new ImmutableJWKSet<>(jwkSet)),
+                new FixedSigningKeyHolder(jwkSet),
+                jwtProperties,
+                new FixedTokenEpochService(),
+                permissionRegistry);
+    }
+
+    static List<String> permissions(int count) {
+        List<String> permissions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permissions.add("system:resource" + i + ":query");
+        }
+        return permissions;
+    }
+
+    static List<GrantedAuthority> authorities(List<String> permissions) {
+        return permissions.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 与登录成功后一致的认证信息（principal 为 LoginUser，携带权限版本号）
+     */
+    static Authentication loginAuthentication(List<String> permissions) {
+        List<GrantedAuthority> authorities = authorities(permissions);
+        LoginUser loginUser = new LoginUser(USER_ID, USERNAME, "", authorities);
+        loginUser.setPermissionVersion(PERMISSION_VERSION);
+        loginUser.setPermissions(new LinkedHashSet<>(permissions));
+        return UsernamePasswordAuthenticationToken.authenticated(loginUser, null, authorities);
+    }
+
+    /**
+     * 本地黑名单（替代 Redis）
+     */
+    static class LocalJwtBlacklistCache extends JwtBlacklistCache {
+
+        private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean isBlacklisted(String jti) {
+            return revoked.contains(jti);
+        }
+    }
+
+    /**
+     * 固定权限版本号（替代 Redis）
+     */
+    static class FixedPermissionVersionService extends PermissionVersionService {
+
+        @Override
+        public String getVersion(Long userId) {
+            return PERMISSION_VERSION;
+        }
+    }
+
+    /**
+     * 固定令牌纪元（替代 Redis）
+     */
+    static class FixedTokenEpochService extends UserTokenEpochService {
+
+        @Override
+        public Long findEpoch(Long userId) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 固定签发密钥（替代数据库）
+     */
+    static class FixedSigningKeyHolder extends JwkSigningKeyHolder {
+
+        private final JWKSet jwkSet;
+
+        FixedSigningKeyHolder(JWKSet jwkSet) {
+            this.jwkSet = jwkSet;
+        }
+
+        @Override
+        public JWKSet get() {
+            return jwkSet;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.async.jmh_generated;
+public class ContextPropagationBenchmark_jmhType extends ContextPropagationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.jwt.jmh_generated;
+public class JwsAlgorithmBenchmark_jmhType extends JwsAlgorithmBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.security.jmh_generated;
+public class JwkSetBenchmark_jmhType extends JwkSetBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.security.jmh_generated;
+public class JwtTokenGeneratorBenchmark_jmhType extends JwtTokenGeneratorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.security.jmh_generated;
+public class MethodSecurityBenchmark_jmhType extends MethodSecurityBenchmark_jmhType_B3 {
+}
+
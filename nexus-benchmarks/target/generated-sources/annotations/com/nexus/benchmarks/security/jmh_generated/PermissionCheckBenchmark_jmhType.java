@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.security.jmh_generated;
+public class PermissionCheckBenchmark_jmhType extends PermissionCheckBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.nexus.benchmarks.security.jmh_generated;
+public class SecurityContextUtilsBenchmark_jmhType extends SecurityContextUtilsBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,74 @@
+package com.nexus.framework.async.config;
+
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.nexus.framework.async.context.ContextPropagatingTaskDecorator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步执行器配置
+ *
+ * 按 nexus.async.mode 选择执行器：
+ * 1. platform（默认）：有界平台线程池，队列满后由提交线程执行（CallerRunsPolicy）
+ * 2. virtual：每个任务一个虚拟线程，按 virtual-concurrency-limit 限制并发；JDK 低于 21 时退回平台线程池
+ *
+ * 两种模式都通过任务装饰器传递租户、登录用户和 MDC，关闭时等待已提交的任务完成
+ *
+ * @author nexus
+ */
+@Slf4j
+@EnableAsync
+@Configuration
+public class AsyncExecutorConfig {
+
+    private static final String MODE_VIRTUAL = "virtual";
+
+    /**
+     * 框架异步执行器（@Async、导出/代码生成/缓存预热等并行任务）
+     * 任务在提交时捕获租户、登录用户和 MDC，执行时恢复，执行完成后清理，不依赖线程创建时继承的值
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(AsyncExecutorProperties properties) {
+        if (MODE_VIRTUAL.equalsIgnoreCase(properties.getMode())) {
+            if (Runtime.version().feature() >= 21) {
+                return virtualThreadExecutor(properties);
+            }
+            log.warn("当前 JDK {} 不支持虚拟线程，异步执行器退回平台线程池", Runtime.version().feature());
+        }
+        return platformThreadExecutor(properties);
+    }
+
+    private AsyncTaskExecutor platformThreadExecutor(AsyncExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setKeepAliveSeconds(properties.getKeepAliveSeconds());
+        // 池中线程长期复用，禁止创建时继承提交线程的 TransmittableThreadLocal，上下文只由任务装饰器传递
+        executor.setThreadFactory(TtlExecutors.getDisableInheritableThreadFactory(
+                new CustomizableThreadFactory(properties.getThreadNamePrefix())));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(properties.getAwaitTerminationSeconds());
+        return executor;
+    }
+
+    private AsyncTaskExecutor virtualThreadExecutor(AsyncExecutorProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(properties.getThreadNamePrefix());
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getVirtualConcurrencyLimit());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(properties.getAwaitTerminationSeconds()));
+        return executor;
+    }
+}
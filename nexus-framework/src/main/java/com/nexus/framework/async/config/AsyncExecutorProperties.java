@@ -0,0 +1,51 @@
+package com.nexus.framework.async.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.async")
+public class AsyncExecutorProperties {
+
+    /**
+     * 执行模式：platform-有界平台线程池，virtual-虚拟线程（需要 JDK 21+，低于 21 时退回平台线程池）
+     */
+    private String mode = "platform";
+
+    /**
+     * 线程名前缀
+     */
+    private String threadNamePrefix = "nexus-async-";
+
+    /**
+     * 平台线程池核心线程数
+     */
+    private int corePoolSize = 8;
+
+    /**
+     * 平台线程池最大线程数
+     */
+    private int maxPoolSize = 16;
+
+    /**
+     * 平台线程池队列容量，队列满且线程数达到上限时由提交任务的线程执行（背压）
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 平台线程池空闲线程存活时间（秒）
+     */
+    private int keepAliveSeconds = 60;
+
+    /**
+     * 虚拟线程模式下同时执行的任务数上限，超过时提交任务的线程等待
+     */
+    private int virtualConcurrencyLimit = 256;
+
+    /**
+     * 关闭时等待已提交任务完成的时间（秒）
+     */
+    private int awaitTerminationSeconds = 30;
+}
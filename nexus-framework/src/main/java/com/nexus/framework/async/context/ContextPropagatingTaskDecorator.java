@@ -0,0 +1,16 @@
+package com.nexus.framework.async.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 任务装饰器：提交任务时捕获上下文（租户、登录用户、MDC），执行时恢复
+ *
+ * @author nexus
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ContextSnapshot.capture().wrap(runnable);
+    }
+}
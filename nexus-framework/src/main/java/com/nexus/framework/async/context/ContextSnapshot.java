@@ -0,0 +1,108 @@
+package com.nexus.framework.async.context;
+
+import com.alibaba.ttl.TransmittableThreadLocal.Transmitter;
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 线程上下文快照
+ *
+ * 提交任务时在提交线程上捕获，执行任务时在工作线程上恢复，执行完成后还原工作线程原来的上下文：
+ * 1. TransmittableThreadLocal（租户ID、忽略租户标记等）
+ * 2. Spring Security 上下文（当前登录用户）
+ * 3. 日志 MDC
+ *
+ * 捕获只保存引用（MDC 为空时不复制），每个任务的额外开销为一次捕获和一次恢复/还原。
+ * 工作线程执行期间只能看到提交时的上下文，执行完成后不残留，不会串到下一个任务
+ *
+ * @author nexus
+ */
+public final class ContextSnapshot {
+
+    private final Object ttlSnapshot;
+    private final SecurityContext securityContext;
+    private final Map<String, String> mdc;
+
+    private ContextSnapshot(Object ttlSnapshot, SecurityContext securityContext, Map<String, String> mdc) {
+        this.ttlSnapshot = ttlSnapshot;
+        this.securityContext = securityContext;
+        this.mdc = mdc;
+    }
+
+    /**
+     * 捕获当前线程的上下文
+     */
+    public static ContextSnapshot capture() {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return new ContextSnapshot(Transmitter.capture(),
+                SecurityContextHolder.getContext(),
+                mdc == null || mdc.isEmpty() ? null : mdc);
+    }
+
+    /**
+     * 包装任务：执行时使用本快照的上下文
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            Backup backup = replay();
+            try {
+                task.run();
+            } finally {
+                backup.restore();
+            }
+        };
+    }
+
+    /**
+     * 包装任务：执行时使用本快照的上下文
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            Backup backup = replay();
+            try {
+                return task.call();
+            } finally {
+                backup.restore();
+            }
+        };
+    }
+
+    /**
+     * 在当前线程恢复快照中的上下文
+     *
+     * @return 当前线程原来的上下文，执行完成后须还原
+     */
+    private Backup replay() {
+        Map<String, String> oldMdc = MDC.getCopyOfContextMap();
+        SecurityContext oldSecurityContext = SecurityContextHolder.getContext();
+        Object ttlBackup = Transmitter.replay(ttlSnapshot);
+        SecurityContextHolder.setContext(securityContext);
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        } else if (oldMdc != null) {
+            MDC.clear();
+        }
+        return new Backup(ttlBackup, oldSecurityContext, oldMdc);
+    }
+
+    private record Backup(Object ttlBackup, SecurityContext securityContext, Map<String, String> mdc) {
+
+        private void restore() {
+            Transmitter.restore(ttlBackup);
+            if (securityContext.getAuthentication() == null) {
+                SecurityContextHolder.clearContext();
+            } else {
+                SecurityContextHolder.setContext(securityContext);
+            }
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.nexus.framework.job.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 集群单例任务注解
+ *
+ * 标注在 @Scheduled 方法上，多节点同时触发时只有获得 Redis 租约的节点执行，其他节点直接跳过。
+ * 租约在任务结束后至少保留 {@link #lockAtLeastSeconds()} 秒，避免节点间时钟偏差导致同一轮任务被重复执行
+ *
+ * 使用示例：
+ * @Scheduled(cron = "0 0 2 * * ?")
+ * @ClusterSingleton(lockAtMostSeconds = 600)
+ *
+ * @author nexus
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterSingleton {
+
+    /**
+     * 任务名称，默认为 类名.方法名
+     */
+    String name() default "";
+
+    /**
+     * 租约最长持有时间（秒），节点宕机时租约到期自动释放，应大于任务的最长执行时间
+     */
+    long lockAtMostSeconds() default 600;
+
+    /**
+     * 任务结束后租约最短保留时间（秒）
+     */
+    long lockAtLeastSeconds() default 30;
+}
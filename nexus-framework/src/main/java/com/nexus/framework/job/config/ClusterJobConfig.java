@@ -0,0 +1,29 @@
+package com.nexus.framework.job.config;
+
+import com.nexus.framework.job.annotation.ClusterSingleton;
+import com.nexus.framework.job.interceptor.ClusterSingletonInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+@Configuration
+public class ClusterJobConfig {
+
+    /**
+     * @ClusterSingleton 切面：标注在定时任务方法上，同一轮任务只在一个节点执行
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor clusterSingletonAdvisor(ObjectProvider<RedissonClient> redissonClient,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, ClusterSingleton.class, true),
+                new ClusterSingletonInterceptor(redissonClient, meterRegistry));
+    }
+}
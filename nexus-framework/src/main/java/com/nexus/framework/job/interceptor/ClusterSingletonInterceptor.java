@@ -0,0 +1,159 @@
+package com.nexus.framework.job.interceptor;
+
+import com.nexus.framework.job.annotation.ClusterSingleton;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClusterSingleton} 方法拦截器
+ *
+ * 1. 执行前以 SET NX + 过期时间获取租约（key=job:lease:{任务名}），获取失败说明其他节点正在或刚刚执行过，跳过本次
+ * 2. 执行后若已超过最短保留时间则删除租约，否则将租约缩短为剩余的保留时间；只处理自己持有的租约
+ * 3. 记录执行耗时和结果（nexus.job，tag: job / outcome=success|failure），跳过次数记录在 nexus.job.skipped
+ *
+ * 获取租约失败（Redis 不可用）时不执行任务：维护任务晚一轮执行没有影响，多节点重复执行反而可能产生竞争
+ *
+ * @author nexus
+ */
+@Slf4j
+public class ClusterSingletonInterceptor implements MethodInterceptor {
+
+    private static final String LEASE_KEY_PREFIX = "job:lease:";
+
+    /**
+     * 释放租约脚本：仍由自己持有时，剩余保留时间大于 0 则缩短过期时间，否则删除
+     * KEYS[1]=租约key；ARGV[1]=租约持有者，ARGV[2]=剩余保留时间（毫秒）
+     */
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            if tonumber(ARGV[2]) > 0 then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return redis.call('DEL', KEYS[1])
+            """;
+
+    /**
+     * 节点标识（pid@hostname），写入租约便于排查由哪个节点执行
+     */
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * 方法 → 预解析的任务定义
+     */
+    private final Map<Method, JobDefinition> definitions = new ConcurrentHashMap<>();
+
+    public ClusterSingletonInterceptor(ObjectProvider<RedissonClient> redissonClient,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        JobDefinition job = definitions.computeIfAbsent(invocation.getMethod(),
+                method -> resolve(method, invocation.getThis()));
+        if (job == null) {
+            return invocation.proceed();
+        }
+
+        String owner = NODE_ID + ":" + UUID.randomUUID();
+        if (!tryAcquire(job, owner)) {
+            job.skipped().increment();
+            log.debug("任务 {} 已由其他节点执行，本节点跳过", job.name());
+            return null;
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            (success ? job.success() : job.failure()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            log.info("任务 {} 执行{}，耗时: {}ms", job.name(), success ? "成功" : "失败",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            release(job, owner, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    private boolean tryAcquire(JobDefinition job, String owner) {
+        try {
+            return redissonClient.getObject().getBucket(job.leaseKey(), StringCodec.INSTANCE)
+                    .setIfAbsent(owner, Duration.ofSeconds(job.lockAtMostSeconds()));
+        } catch (Exception e) {
+            log.error("获取任务租约失败，本节点跳过任务 {}", job.name(), e);
+            return false;
+        }
+    }
+
+    private void release(JobDefinition job, String owner, long elapsedMillis) {
+        long remainingMillis = TimeUnit.SECONDS.toMillis(job.lockAtLeastSeconds()) - elapsedMillis;
+        try {
+            redissonClient.getObject().getScript(StringCodec.INSTANCE).eval(job.leaseKey(),
+                    RScript.Mode.READ_WRITE, RELEASE_SCRIPT, RScript.ReturnType.INTEGER,
+                    Collections.singletonList(job.leaseKey()), owner, String.valueOf(Math.max(remainingMillis, 0)));
+        } catch (Exception e) {
+            // 租约到期后自动释放
+            log.warn("释放任务租约失败，任务: {}, 原因: {}", job.name(), e.getMessage());
+        }
+    }
+
+    private JobDefinition resolve(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        ClusterSingleton annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod,
+                ClusterSingleton.class);
+        if (annotation == null) {
+            return null;
+        }
+        String name = annotation.name().isEmpty()
+                ? targetClass.getSimpleName() + "." + specificMethod.getName()
+                : annotation.name();
+        MeterRegistry registry = meterRegistry.getObject();
+        return new JobDefinition(name, LEASE_KEY_PREFIX + name,
+                annotation.lockAtMostSeconds(), annotation.lockAtLeastSeconds(),
+                timer(registry, name, "success"), timer(registry, name, "failure"),
+                Counter.builder("nexus.job.skipped")
+                        .tag("job", name)
+                        .description("其他节点持有租约而跳过的次数")
+                        .register(registry));
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String outcome) {
+        return Timer.builder("nexus.job")
+                .tag("job", name)
+                .tag("outcome", outcome)
+                .description("集群单例任务执行耗时")
+                .register(registry);
+    }
+
+    private record JobDefinition(String name, String leaseKey, long lockAtMostSeconds, long lockAtLeastSeconds,
+            Timer success, Timer failure, Counter skipped) {
+    }
+}
@@ -4,6 +4,12 @@ import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.autoconfigure.MybatisPlusAutoConfiguration;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.nexus.framework.tenant.bulkhead.TenantBulkheadRegistry;
+import com.nexus.framework.tenant.bulkhead.TenantDbBulkheadInterceptor;
+import com.nexus.framework.tenant.config.TenantProperties;
+import com.nexus.framework.tenant.handler.TenantDatabaseHandler;
+import com.nexus.framework.tenant.handler.TenantLineSkippingInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 
@@ -11,10 +17,23 @@ import org.springframework.context.annotation.Bean;
 public class MyBatisPlusConfig {
 
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(TenantProperties tenantProperties) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        // 租户条件须在分页之前追加，count 语句同样按租户过滤；未开启多租户时不注册，避免解析 SQL
+        if (tenantProperties.isEnabled()) {
+            interceptor.addInnerInterceptor(
+                    new TenantLineSkippingInterceptor(new TenantDatabaseHandler(tenantProperties)));
+        }
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
         return interceptor;
     }
 
+    /**
+     * 租户 SQL 并发隔离（nexus.tenant.bulkhead.enabled 关闭时直接放行）
+     */
+    @Bean
+    public TenantDbBulkheadInterceptor tenantDbBulkheadInterceptor(ObjectProvider<TenantBulkheadRegistry> registry) {
+        return new TenantDbBulkheadInterceptor(registry);
+    }
+
 }
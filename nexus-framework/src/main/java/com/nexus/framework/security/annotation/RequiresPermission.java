@@ -0,0 +1,46 @@
+package com.nexus.framework.security.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 权限校验注解
+ *
+ * 替代 @PreAuthorize("hasAuthority('...')")：权限标识在启动时解析为权限ID并按方法缓存（未定义的权限标识启动失败），
+ * 之后每次调用只做位运算，不再解析/执行 SpEL。方法上的注解优先于类上的注解
+ *
+ * 使用示例：
+ * @RequiresPermission("system:user:create")
+ * @RequiresPermission(value = {"system:user:update", "system:user:create"}, mode = RequiresPermission.Mode.ALL)
+ *
+ * @author nexus
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    /**
+     * 权限标识符
+     */
+    String[] value();
+
+    /**
+     * 多个权限时的校验方式，默认拥有任意一个即可
+     */
+    Mode mode() default Mode.ANY;
+
+    enum Mode {
+        /**
+         * 拥有任意一个权限
+         */
+        ANY,
+        /**
+         * 拥有全部权限
+         */
+        ALL
+    }
+}
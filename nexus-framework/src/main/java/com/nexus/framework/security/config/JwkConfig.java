@@ -1,6 +1,8 @@
 package com.nexus.framework.security.config;
 
-import com.nexus.framework.security.service.JwkService;
+import com.nexus.framework.security.service.JwkSigningKeyHolder;
+import com.nexus.framework.security.service.JwkVerificationKeyCache;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +11,15 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 /**
  * JWK配置类
  * 
  * 职责：
  * 1. 提供两个独立的 JWKSource Bean
- * - signingJwkSource: 用于 JWT 签发（包含私钥，从数据库）
- * - verificationJwkSource: 用于 JWT 验证（只含公钥，从 Redis 缓存）
+ * - signingJwkSource: 用于 JWT 签发（只含最新的密钥对，本地内存持有）
+ * - verificationJwkSource: 用于 JWT 验证（只含公钥，本地内存缓存）
  * 2. 实现职责分离和性能优化
  * 
  * @author nexus
@@ -25,21 +29,22 @@ import org.springframework.context.annotation.Configuration;
 @RequiredArgsConstructor
 public class JwkConfig {
 
-    private final JwkService jwkService;
+    private final JwkSigningKeyHolder jwkSigningKeyHolder;
+    private final JwkVerificationKeyCache jwkVerificationKeyCache;
 
     /**
      * 用于签发 JWT 的 JWKSource（包含私钥）
      * 
      * 使用场景：JwtEncoder 调用
-     * 数据源：数据库（每次加载最新）
-     * 包含：完整密钥对（公钥+私钥）
+     * 数据源：本地内存（密钥变更时原子替换，首次使用时从数据库加载）
+     * 包含：最新的完整密钥对（公钥+私钥）
      */
     @Bean
     @Qualifier("signingJwkSource")
     public JWKSource<SecurityContext> signingJwkSource() {
         return (jwkSelector, context) -> {
             try {
-                return jwkSelector.select(jwkService.getSigningJwkSet());
+                return jwkSelector.select(jwkSigningKeyHolder.get());
             } catch (Exception e) {
                 log.error("获取签发JWK失败", e);
                 throw new RuntimeException("无法加载签发JWK", e);
@@ -51,7 +56,7 @@ public class JwkConfig {
      * 用于验证 JWT 的 JWKSource（只包含公钥）
      * 
      * 使用场景：JwtDecoder 调用
-     * 数据源：Redis 缓存（降级到数据库）
+     * 数据源：本地内存缓存（未知 kid 时回源 Redis，再降级到数据库）
      * 包含：只有公钥
      */
     @Bean
@@ -59,7 +64,11 @@ public class JwkConfig {
     public JWKSource<SecurityContext> verificationJwkSource() {
         return (jwkSelector, context) -> {
             try {
-                return jwkSelector.select(jwkService.getVerificationJwkSet());
+                List<JWK> keys = jwkSelector.select(jwkVerificationKeyCache.get());
+                if (keys.isEmpty()) {
+                    keys = jwkSelector.select(jwkVerificationKeyCache.reloadForUnknownKey());
+                }
+                return keys;
             } catch (Exception e) {
                 log.error("获取验证JWK失败", e);
                 throw new RuntimeException("无法加载验证JWK", e);
@@ -20,6 +20,12 @@ public class JwkProperties {
      */
     private int rotationAdvanceDays = 7;
 
+    /**
+     * 新密钥预热时间（分钟）
+     * 新密钥创建后先发布给所有节点用于验签，预热结束后各节点再切换为用新密钥签发
+     */
+    private int activationDelayMinutes = 10;
+
     /**
      * Redis缓存过期时间（小时）
      */
@@ -29,4 +35,21 @@ public class JwkProperties {
      * 是否启用自动密钥轮换
      */
     private boolean autoRotationEnabled = true;
+
+    /**
+     * 新建密钥的类型：RSA / EC
+     * 已有密钥按数据库中记录的类型加载，切换类型后新旧密钥可同时用于验签
+     */
+    private String keyType = "RSA";
+
+    /**
+     * 新建密钥的签名算法
+     * RSA：RS256 / RS384 / RS512；EC：ES256 / ES384 / ES512（曲线由算法决定）
+     */
+    private String algorithm = "RS256";
+
+    /**
+     * RSA 密钥长度（位）
+     */
+    private int rsaKeySize = 2048;
 }
@@ -0,0 +1,49 @@
+package com.nexus.framework.security.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.security.jwt")
+public class JwtProperties {
+
+    /**
+     * 是否信任JWT中携带的权限（authorities）
+     * 开启后，token 中的权限版本号与当前版本号一致时直接使用 token 中的权限，不再加载用户权限
+     */
+    private boolean trustedClaimsEnabled = false;
+
+    /**
+     * 是否以权限位图（pmask + preg）代替权限标识列表写入JWT
+     * 位图只能由本系统各节点还原，需要第三方读取 token 中的权限时关闭
+     */
+    private boolean compactAuthoritiesEnabled = true;
+
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private long accessTokenExpireSeconds = 7200;
+
+    /**
+     * 刷新令牌有效期（秒），每次刷新后重新计算
+     */
+    private long refreshTokenExpireSeconds = 7 * 24 * 3600;
+
+    /**
+     * 刷新令牌重复使用的宽限期（秒）
+     * 多个标签页同时刷新时，宽限期内的重复使用返回已签发的新刷新令牌，超过宽限期视为令牌被盗用并撤销整个会话
+     */
+    private long refreshReuseGraceSeconds = 10;
+
+    /**
+     * 验签结果缓存最大条目数
+     */
+    private long decoderCacheMaximumSize = 10_000;
+
+    /**
+     * 验签结果缓存过期时间（分钟），条目同时受 token 的 exp 约束
+     */
+    private long decoderCacheExpireMinutes = 30;
+}
@@ -0,0 +1,41 @@
+package com.nexus.framework.security.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.security.login-rate-limit")
+public class LoginRateLimitProperties {
+
+    /**
+     * 是否开启登录限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个IP在时间窗口内允许的登录次数
+     */
+    private long ipPermits = 20;
+
+    /**
+     * IP限流时间窗口（秒）
+     */
+    private long ipIntervalSeconds = 60;
+
+    /**
+     * 每个用户名在时间窗口内允许的登录次数
+     */
+    private long usernamePermits = 5;
+
+    /**
+     * 用户名限流时间窗口（秒）
+     */
+    private long usernameIntervalSeconds = 60;
+
+    /**
+     * 本地记录的被限流key最大数量
+     */
+    private long localMaximumSize = 100_000;
+}
@@ -0,0 +1,27 @@
+package com.nexus.framework.security.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.security.permission-cache")
+public class PermissionCacheProperties {
+
+    /**
+     * 本地缓存（L1）最大用户数
+     */
+    private long localMaximumSize = 10_000;
+
+    /**
+     * 本地缓存（L1）过期时间（分钟）
+     * 正常情况下依赖事件失效，过期时间只用于兜底丢失的失效通知
+     */
+    private int localExpireMinutes = 10;
+
+    /**
+     * Redis缓存（L2）过期时间（小时）
+     */
+    private int redisExpireHours = 24;
+}
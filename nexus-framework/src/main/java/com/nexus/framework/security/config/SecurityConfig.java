@@ -1,22 +1,46 @@
 package com.nexus.framework.security.config;
 
+import com.nexus.framework.security.annotation.RequiresPermission;
+import com.nexus.framework.security.decoder.CachingJwtDecoder;
+import com.nexus.framework.security.decoder.JwtExpiryValidator;
 import com.nexus.framework.security.filter.JwtAuthenticationFilter;
+import com.nexus.framework.security.filter.LoginRateLimitFilter;
 import com.nexus.framework.security.handler.JwtAuthenticationFailureHandler;
 import com.nexus.framework.security.handler.JwtAuthenticationSuccessHandler;
 import com.nexus.framework.security.handler.JwtBlacklistLogoutHandler;
 import com.nexus.framework.security.handler.JwtLogoutSuccessHandler;
+import com.nexus.framework.security.interceptor.RequiresPermissionInterceptor;
+import com.nexus.framework.security.service.JwkService;
+import com.nexus.framework.security.service.JwtBlacklistCache;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.service.PermissionVersionService;
+import com.nexus.framework.security.service.UserTokenEpochService;
 import com.nexus.framework.security.service.UserDetailsServiceImpl;
-import com.nimbusds.jose.JWSAlgorithm;
+import com.nexus.framework.security.util.SecurityFrameworkService;
+import com.nexus.framework.tenant.config.TenantProperties;
+import com.nexus.framework.tenant.filter.TenantContextFilter;
+import com.nexus.framework.tenant.service.TenantInfoCache;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -27,9 +51,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -60,7 +84,7 @@ public class SecurityConfig {
 
     /**
      * JwtEncoder：用于签发 JWT
-     * 使用 signingJwkSource（包含私钥，从数据库加载）
+     * 使用 signingJwkSource（包含私钥，本地内存持有最新密钥）
      */
     @Bean
     public JwtEncoder jwtEncoder(@Qualifier("signingJwkSource") JWKSource<SecurityContext> jwkSource) {
@@ -69,16 +93,50 @@ public class SecurityConfig {
 
     /**
      * JwtDecoder：用于验证 JWT
-     * 使用 verificationJwkSource（只含公钥，从 Redis 缓存）
+     * 使用 verificationJwkSource（只含公钥，从 Redis 缓存），并缓存验签成功的结果
      */
     @Bean
-    public JwtDecoder jwtDecoder(@Qualifier("verificationJwkSource") JWKSource<SecurityContext> jwkSource) {
+    public CachingJwtDecoder jwtDecoder(@Qualifier("verificationJwkSource") JWKSource<SecurityContext> jwkSource,
+            JwtProperties jwtProperties,
+            MeterRegistry meterRegistry) {
         ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        // 接受所有支持的算法，切换密钥类型期间新旧密钥签发的 token 均可验证
         JWSKeySelector<SecurityContext> jwsKeySelector = new JWSVerificationKeySelector<>(
-                JWSAlgorithm.RS256,
+                JwkService.SUPPORTED_ALGORITHMS,
                 jwkSource);
         jwtProcessor.setJWSKeySelector(jwsKeySelector);
-        return new NimbusJwtDecoder(jwtProcessor);
+        NimbusJwtDecoder nimbusJwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        // 默认校验之外追加过期校验，认证失败时据此区分"已过期"
+        nimbusJwtDecoder.setJwtValidator(JwtValidators.createDefaultWithValidators(new JwtExpiryValidator()));
+        return new CachingJwtDecoder(nimbusJwtDecoder,
+                jwtProperties.getDecoderCacheMaximumSize(),
+                jwtProperties.getDecoderCacheExpireMinutes(),
+                meterRegistry);
+    }
+
+    /**
+     * @RequiresPermission 拦截器：启动时预解析注解中的权限标识
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static RequiresPermissionInterceptor requiresPermissionInterceptor(
+            ObjectProvider<SecurityFrameworkService> securityFrameworkService,
+            ObjectProvider<PermissionRegistry> permissionRegistry) {
+        return new RequiresPermissionInterceptor(securityFrameworkService, permissionRegistry);
+    }
+
+    /**
+     * @RequiresPermission 切面：标注在方法或类上，与 @PreAuthorize 相同的顺序执行
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor requiresPermissionAdvisor(RequiresPermissionInterceptor requiresPermissionInterceptor) {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                new AnnotationMatchingPointcut(null, RequiresPermission.class, true))
+                .union(new AnnotationMatchingPointcut(RequiresPermission.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, requiresPermissionInterceptor);
+        advisor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return advisor;
     }
 
     @Bean
@@ -113,8 +171,18 @@ public class SecurityConfig {
             JwtBlacklistLogoutHandler blacklistLogoutHandler,
             JwtLogoutSuccessHandler logoutSuccessHandler,
             com.nexus.framework.security.handler.CustomAccessDeniedHandler accessDeniedHandler,
-            RedisTemplate<String, String> redisTemplate,
-            CorsConfigurationSource corsConfigurationSource) throws Exception {
+            JwtBlacklistCache jwtBlacklistCache,
+            PermissionRegistry permissionRegistry,
+            PermissionVersionService permissionVersionService,
+            UserTokenEpochService userTokenEpochService,
+            JwtProperties jwtProperties,
+            MeterRegistry meterRegistry,
+            RedissonClient redissonClient,
+            LoginRateLimitProperties loginRateLimitProperties,
+            TenantProperties tenantProperties,
+            TenantInfoCache tenantInfoCache,
+            CorsConfigurationSource corsConfigurationSource,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
@@ -143,9 +211,24 @@ public class SecurityConfig {
                         .requestMatchers("/logout").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/admin/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // 指标只在独立的管理端口上免登录采集（管理端口不对外暴露），业务端口上需要登录
+                        .requestMatchers(request -> managementPort > 0
+                                && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .anyRequest().authenticated())
+                // 登录限流在表单登录（BCrypt 校验）之前执行
+                .addFilterBefore(
+                        new LoginRateLimitFilter(redissonClient, loginRateLimitProperties, meterRegistry),
+                        UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(
+                        new JwtAuthenticationFilter(jwtDecoder, permissionLoader, jwtBlacklistCache,
+                                permissionRegistry, permissionVersionService, userTokenEpochService, jwtProperties,
+                                meterRegistry),
+                        UsernamePasswordAuthenticationFilter.class)
+                // 租户在 JWT 认证之后确定，登录时按请求头中的租户查询用户
                 .addFilterBefore(
-                        new JwtAuthenticationFilter(jwtDecoder, permissionLoader, redisTemplate),
+                        new TenantContextFilter(tenantProperties, tenantInfoCache),
                         UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
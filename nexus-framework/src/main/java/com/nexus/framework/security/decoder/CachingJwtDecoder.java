@@ -0,0 +1,82 @@
+package com.nexus.framework.security.decoder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带验签结果缓存的 JwtDecoder
+ *
+ * 同一个 token 在会话内会被反复提交，缓存已通过验签和校验的 {@link Jwt}，避免重复的 RSA 验签：
+ * 1. 以 token 原文的 murmur3_128 哈希为键，命中后再比较原文，杜绝哈希碰撞
+ * 2. 命中时检查 exp，已过期的条目移除并交给底层解码器（抛出过期异常）
+ * 3. 只缓存解码成功的结果，失败的 token 每次都走完整校验
+ * 4. 黑名单检查不经过缓存；退出登录时主动移除缓存条目
+ *
+ * @author nexus
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final JwtDecoder delegate;
+    private final Cache<HashCode, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, long expireMinutes, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, "nexus.jwt.decoder.cache");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        HashCode key = HASH_FUNCTION.hashString(token, StandardCharsets.UTF_8);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (token.equals(cached.getTokenValue()) && !isExpired(cached)) {
+                return cached;
+            }
+            cache.invalidate(key);
+        }
+
+        Jwt jwt = delegate.decode(token);
+        if (!isExpired(jwt)) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * 移除 token 的缓存条目（退出登录/撤销时调用）
+     */
+    public void invalidate(String token) {
+        if (token != null) {
+            cache.invalidate(HASH_FUNCTION.hashString(token, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static boolean isExpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt == null || !Instant.now().isBefore(expiresAt);
+    }
+}
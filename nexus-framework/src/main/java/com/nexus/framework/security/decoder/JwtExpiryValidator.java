@@ -0,0 +1,35 @@
+package com.nexus.framework.security.decoder;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JWT 过期校验
+ *
+ * 与默认的 JwtTimestampValidator 使用相同的时钟偏差，过期时返回固定的 {@link #EXPIRED_ERROR}，
+ * 调用方可按错误实例区分"已过期"与其他校验失败，无需匹配错误描述文本
+ *
+ * @author nexus
+ */
+public class JwtExpiryValidator implements OAuth2TokenValidator<Jwt> {
+
+    public static final OAuth2Error EXPIRED_ERROR = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
+            "Jwt expired", "https://tools.ietf.org/html/rfc6750#section-3.1");
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && Instant.now().minus(CLOCK_SKEW).isAfter(expiresAt)) {
+            return OAuth2TokenValidatorResult.failure(EXPIRED_ERROR);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
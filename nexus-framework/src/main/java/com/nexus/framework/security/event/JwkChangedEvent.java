@@ -0,0 +1,18 @@
+package com.nexus.framework.security.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * JWK 变更事件
+ *
+ * 创建新密钥或禁用过期密钥的事务提交后发布，本节点据此立即切换签发密钥；
+ * 其他节点通过 Redis 发布/订阅收到同样的变更通知
+ *
+ * @author nexus
+ */
+public class JwkChangedEvent extends ApplicationEvent {
+
+    public JwkChangedEvent(Object source) {
+        super(source);
+    }
+}
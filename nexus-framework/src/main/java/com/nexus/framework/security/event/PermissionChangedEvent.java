@@ -0,0 +1,44 @@
+package com.nexus.framework.security.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 用户权限变更事件
+ *
+ * 角色分配菜单、删除角色、修改/删除菜单、变更用户角色后发布，
+ * 用于精确失效受影响用户的权限缓存
+ *
+ * @author nexus
+ */
+@Getter
+public class PermissionChangedEvent extends ApplicationEvent {
+
+    /**
+     * 受影响的用户ID
+     */
+    private final Set<Long> userIds;
+
+    /**
+     * 是否影响全部用户（无法精确定位受影响用户时使用）
+     */
+    private final boolean all;
+
+    private PermissionChangedEvent(Object source, Set<Long> userIds, boolean all) {
+        super(source);
+        this.userIds = userIds;
+        this.all = all;
+    }
+
+    public static PermissionChangedEvent ofUsers(Object source, Collection<Long> userIds) {
+        return new PermissionChangedEvent(source, Set.copyOf(userIds), false);
+    }
+
+    public static PermissionChangedEvent ofAll(Object source) {
+        return new PermissionChangedEvent(source, Collections.emptySet(), true);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nexus.framework.security.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 用户令牌撤销事件
+ *
+ * 修改密码、停用用户、删除用户后发布，用于使这些用户已签发的所有令牌失效
+ *
+ * @author nexus
+ */
+@Getter
+public class TokenRevokedEvent extends ApplicationEvent {
+
+    /**
+     * 需要撤销令牌的用户ID
+     */
+    private final Set<Long> userIds;
+
+    public TokenRevokedEvent(Object source, Collection<Long> userIds) {
+        super(source);
+        this.userIds = Set.copyOf(userIds);
+    }
+}
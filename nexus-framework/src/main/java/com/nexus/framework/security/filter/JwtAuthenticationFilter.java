@@ -1,79 +1,261 @@
 package com.nexus.framework.security.filter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.decoder.JwtExpiryValidator;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.model.PermissionAuthenticationToken;
+import com.nexus.framework.security.service.JwtBlacklistCache;
 import com.nexus.framework.security.service.PermissionLoader;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.service.PermissionVersionService;
+import com.nexus.framework.security.service.UserTokenEpochService;
+import com.nexus.framework.tenant.util.TenantUtils;
+import com.nimbusds.jose.proc.BadJWSException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * JWT 认证过滤器
+ *
+ * 各阶段耗时记录在 nexus.jwt.filter.stage（stage=resolve/decode/blacklist/epoch/permissions），
+ * 整体耗时记录在 nexus.jwt.filter，认证结果计数记录在 nexus.jwt.filter.result（outcome 标签）
+ *
+ * @author nexus
+ */
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STAGE_METRIC = "nexus.jwt.filter.stage";
+    private static final String RESULT_METRIC = "nexus.jwt.filter.result";
+
+    private static final String OUTCOME_VALID = "valid";
+    private static final String OUTCOME_ANONYMOUS = "anonymous";
+    private static final String OUTCOME_BLACKLISTED = "blacklisted";
+    private static final String OUTCOME_REVOKED = "revoked";
+    private static final String OUTCOME_EXPIRED = "expired";
+    private static final String OUTCOME_INVALID_SIGNATURE = "invalid_signature";
+    private static final String OUTCOME_INVALID = "invalid";
+    private static final String OUTCOME_PERMISSION_LOAD_FAILURE = "permission_load_failure";
+    private static final String OUTCOME_ERROR = "error";
+
     private final JwtDecoder jwtDecoder;
     private final PermissionLoader permissionLoader;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final JwtBlacklistCache jwtBlacklistCache;
+    private final PermissionRegistry permissionRegistry;
+    private final PermissionVersionService permissionVersionService;
+    private final UserTokenEpochService userTokenEpochService;
+    private final JwtProperties jwtProperties;
 
-    private static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
+    private final Timer totalTimer;
+    private final Timer resolveTimer;
+    private final Timer decodeTimer;
+    private final Timer blacklistTimer;
+    private final Timer epochTimer;
+    private final Timer permissionsTimer;
+    private final Map<String, Counter> outcomeCounters;
+
+    /**
+     * 权限集合 → authorities 和权限位图，按集合实例缓存（weakKeys 按引用比较）
+     *
+     * 权限缓存命中时返回同一个不可变集合，权限ID永不变更，位图一经构建始终有效；
+     * 集合被权限缓存淘汰后条目随之回收
+     */
+    private final Cache<Set<String>, ResolvedPermissions> resolvedPermissions = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
 
     public JwtAuthenticationFilter(JwtDecoder jwtDecoder,
             PermissionLoader permissionLoader,
-            RedisTemplate<String, String> redisTemplate) {
+            JwtBlacklistCache jwtBlacklistCache,
+            PermissionRegistry permissionRegistry,
+            PermissionVersionService permissionVersionService,
+            UserTokenEpochService userTokenEpochService,
+            JwtProperties jwtProperties,
+            MeterRegistry meterRegistry) {
         this.jwtDecoder = jwtDecoder;
         this.permissionLoader = permissionLoader;
-        this.redisTemplate = redisTemplate;
+        this.jwtBlacklistCache = jwtBlacklistCache;
+        this.permissionRegistry = permissionRegistry;
+        this.permissionVersionService = permissionVersionService;
+        this.userTokenEpochService = userTokenEpochService;
+        this.jwtProperties = jwtProperties;
+
+        this.totalTimer = Timer.builder("nexus.jwt.filter")
+                .description("JWT认证过滤器总耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.resolveTimer = stageTimer("resolve", meterRegistry);
+        this.decodeTimer = stageTimer("decode", meterRegistry);
+        this.blacklistTimer = stageTimer("blacklist", meterRegistry);
+        this.epochTimer = stageTimer("epoch", meterRegistry);
+        this.permissionsTimer = stageTimer("permissions", meterRegistry);
+        Map<String, Counter> counters = new HashMap<>();
+        for (String outcome : List.of(OUTCOME_VALID, OUTCOME_ANONYMOUS, OUTCOME_BLACKLISTED, OUTCOME_REVOKED,
+                OUTCOME_EXPIRED, OUTCOME_INVALID_SIGNATURE, OUTCOME_INVALID, OUTCOME_PERMISSION_LOAD_FAILURE,
+                OUTCOME_ERROR)) {
+            counters.put(outcome, Counter.builder(RESULT_METRIC)
+                    .tag("outcome", outcome)
+                    .description("JWT认证结果计数")
+                    .register(meterRegistry));
+        }
+        this.outcomeCounters = Map.copyOf(counters);
+    }
+
+    private static Timer stageTimer(String stage, MeterRegistry meterRegistry) {
+        return Timer.builder(STAGE_METRIC)
+                .tag("stage", stage)
+                .description("JWT认证过滤器各阶段耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = resolveToken(request);
+        long stageStart = record(resolveTimer, start);
 
         if (token != null) {
             try {
-                Jwt jwt = jwtDecoder.decode(token);
+                Jwt jwt;
+                try {
+                    jwt = jwtDecoder.decode(token);
+                } finally {
+                    stageStart = record(decodeTimer, stageStart);
+                }
 
                 // 检查JWT是否在黑名单中
                 String jti = jwt.getId();
-                if (jti != null && isTokenBlacklisted(jti)) {
+                boolean blacklisted = jti != null && isTokenBlacklisted(jti);
+                stageStart = record(blacklistTimer, stageStart);
+                if (blacklisted) {
                     log.warn("JWT在黑名单中，拒绝认证，JTI: {}", jti);
-                    SecurityContextHolder.clearContext();
+                    reject(OUTCOME_BLACKLISTED, start);
                     filterChain.doFilter(request, response);
                     return;
                 }
 
                 Long userId = jwt.getClaim("userId");
+                // 检查令牌纪元（修改密码、停用、删除用户后旧令牌全部失效）
+                boolean revoked = userTokenEpochService.isRevoked(userId,
+                        jwt.getClaim(JwtTokenGenerator.CLAIM_TOKEN_EPOCH));
+                stageStart = record(epochTimer, stageStart);
+                if (revoked) {
+                    log.warn("JWT已随用户令牌纪元递增而撤销，用户: {}, userId: {}", jwt.getSubject(), userId);
+                    reject(OUTCOME_REVOKED, start);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
                 log.debug("JWT验证成功，用户: {}, userId: {}", jwt.getSubject(), userId);
 
-                Collection<GrantedAuthority> authorities = loadAuthorities(userId);
-                log.debug("从数据库加载权限，数量: {}", authorities.size());
-
-                JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt, authorities);
+                String outcome = OUTCOME_VALID;
+                boolean trusted = isTrustedClaims(jwt, userId);
+                long[] permissionMask = trusted ? resolveTrustedMask(jwt) : null;
+                Set<String> trustedPermissions = trusted && permissionMask == null ? resolveTrustedPermissions(jwt) : null;
+                Collection<GrantedAuthority> authorities;
+                if (permissionMask != null) {
+                    Set<String> permissions = permissionRegistry.toPermissions(permissionMask);
+                    log.debug("权限版本号未变化，使用token中的权限位图，数量: {}", permissions.size());
+                    authorities = toAuthorities(permissions);
+                } else if (trustedPermissions != null) {
+                    authorities = toAuthorities(trustedPermissions);
+                    permissionMask = permissionRegistry.toMask(trustedPermissions);
+                } else {
+                    Set<String> permissions = loadPermissions(userId, jwt.getClaim(JwtTokenGenerator.CLAIM_TENANT_ID));
+                    if (permissions == null) {
+                        // 加载失败时按无权限处理，仍然完成认证
+                        outcome = OUTCOME_PERMISSION_LOAD_FAILURE;
+                        permissions = Collections.emptySet();
+                    }
+                    log.debug("加载用户权限，数量: {}", permissions.size());
+                    // 权限缓存命中时为同一个集合实例，位图和 authorities 不再逐个构建
+                    ResolvedPermissions resolved = resolvePermissions(permissions);
+                    authorities = resolved.authorities();
+                    permissionMask = resolved.mask();
+                }
+                PermissionAuthenticationToken authentication = new PermissionAuthenticationToken(
+                        jwt, authorities, permissionMask);
+                record(permissionsTimer, stageStart);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcomeCounters.get(outcome).increment();
+                totalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             } catch (Exception e) {
                 log.error("JWT验证失败: {}", e.getMessage());
-                SecurityContextHolder.clearContext();
+                reject(classifyFailure(e), start);
             }
+        } else {
+            outcomeCounters.get(OUTCOME_ANONYMOUS).increment();
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 记录阶段耗时
+     *
+     * @return 下一阶段的开始时间
+     */
+    private static long record(Timer timer, long stageStart) {
+        long now = System.nanoTime();
+        timer.record(now - stageStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    private void reject(String outcome, long start) {
+        SecurityContextHolder.clearContext();
+        outcomeCounters.get(outcome).increment();
+        totalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 区分验证失败原因：过期、签名无效、其他格式或声明错误、内部错误
+     *
+     * 按异常类型判断：过期由 {@link JwtExpiryValidator} 的错误实例识别，签名无效由 Nimbus 的 BadJWSException 识别
+     */
+    private static String classifyFailure(Exception e) {
+        if (e instanceof JwtValidationException validationException) {
+            return validationException.getErrors().contains(JwtExpiryValidator.EXPIRED_ERROR)
+                    ? OUTCOME_EXPIRED : OUTCOME_INVALID;
+        }
+        if (e instanceof BadJwtException) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof BadJWSException) {
+                    return OUTCOME_INVALID_SIGNATURE;
+                }
+            }
+            return OUTCOME_INVALID;
+        }
+        return OUTCOME_ERROR;
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -82,36 +264,92 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private Collection<GrantedAuthority> loadAuthorities(Long userId) {
+    /**
+     * 信任模式下，token 中的权限版本号与当前版本号一致时可直接使用 token 中的权限
+     */
+    private boolean isTrustedClaims(Jwt jwt, Long userId) {
+        if (!jwtProperties.isTrustedClaimsEnabled() || userId == null) {
+            return false;
+        }
+        String tokenVersion = jwt.getClaimAsString(JwtTokenGenerator.CLAIM_PERMISSION_VERSION);
+        return tokenVersion != null && tokenVersion.equals(permissionVersionService.getVersion(userId));
+    }
+
+    /**
+     * 还原 token 中的权限位图
+     *
+     * @return 权限位图；token 中没有位图或本节点注册表与签发节点不一致时返回 null
+     */
+    private long[] resolveTrustedMask(Jwt jwt) {
+        String encoded = jwt.getClaimAsString(JwtTokenGenerator.CLAIM_PERMISSION_MASK);
+        if (encoded == null) {
+            return null;
+        }
+        long[] mask = permissionRegistry.decodeMask(encoded,
+                jwt.getClaimAsString(JwtTokenGenerator.CLAIM_PERMISSION_REGISTRY));
+        if (mask == null) {
+            log.debug("本节点权限注册表与签发节点不一致，重新加载用户权限");
+        }
+        return mask;
+    }
+
+    /**
+     * 读取 token 中的权限标识列表（未开启紧凑编码时签发的 token）
+     *
+     * @return token 中的权限；没有时返回 null
+     */
+    private Set<String> resolveTrustedPermissions(Jwt jwt) {
+        List<String> authorities = jwt.getClaimAsStringList(JwtTokenGenerator.CLAIM_AUTHORITIES);
+        if (authorities == null) {
+            return null;
+        }
+        log.debug("权限版本号未变化，使用token中的权限，数量: {}", authorities.size());
+        return Set.copyOf(authorities);
+    }
+
+    /**
+     * 加载用户权限（按令牌中的租户，租户上下文在本过滤器之后才建立）
+     *
+     * @return 用户权限；加载失败时返回 null
+     */
+    private Set<String> loadPermissions(Long userId, Long tenantId) {
         if (userId == null) {
-            return Collections.emptyList();
+            return Collections.emptySet();
         }
 
         try {
-            Set<String> permissions = permissionLoader.loadUserPermissions(userId);
-            return permissions.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
+            Set<String> permissions = TenantUtils.call(tenantId, () -> permissionLoader.loadUserPermissions(userId));
+            return permissions == null ? Collections.emptySet() : permissions;
         } catch (Exception e) {
             log.error("加载用户权限失败，userId: {}", userId, e);
-            return Collections.emptyList();
+            return null;
         }
     }
 
     /**
-     * 检查JWT是否在黑名单中
+     * 获取权限集合对应的 authorities 和权限位图，同一集合只构建一次
+     */
+    private ResolvedPermissions resolvePermissions(Set<String> permissions) {
+        return resolvedPermissions.asMap().computeIfAbsent(permissions,
+                key -> new ResolvedPermissions(toAuthorities(key), permissionRegistry.toMask(key)));
+    }
+
+    private static List<GrantedAuthority> toAuthorities(Set<String> permissions) {
+        return permissions.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * 检查JWT是否在黑名单中（本地预过滤，仅本地命中时查询Redis）
      * 
      * @param jti JWT唯一标识
      * @return true=在黑名单中（已撤销），false=不在黑名单中（有效）
      */
     private boolean isTokenBlacklisted(String jti) {
-        try {
-            String blacklistKey = BLACKLIST_KEY_PREFIX + jti;
-            return Boolean.TRUE.equals(redisTemplate.hasKey(blacklistKey));
-        } catch (Exception e) {
-            log.error("检查JWT黑名单时发生错误，JTI: {}", jti, e);
-            // 出错时保守处理：不拒绝请求（降级）
-            return false;
-        }
+        return jwtBlacklistCache.isBlacklisted(jti);
+    }
+
+    private record ResolvedPermissions(List<GrantedAuthority> authorities, long[] mask) {
     }
 }
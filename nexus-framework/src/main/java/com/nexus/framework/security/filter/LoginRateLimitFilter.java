@@ -0,0 +1,205 @@
+package com.nexus.framework.security.filter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.nexus.framework.security.config.LoginRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录限流过滤器
+ *
+ * 1. 位于表单登录过滤器之前，只拦截 POST /login，分别按 IP 和用户名限流（Redisson 令牌桶，集群共享）
+ * 2. 被限流的 key 在本地记录到下一个令牌产生为止，期间的请求直接在本地拒绝，不访问 Redis，也不进行 BCrypt 校验
+ * 3. 被拒绝时返回 429 和 Retry-After；Redis 不可用时放行，不影响正常登录
+ *
+ * 拒绝次数记录在 nexus.login.rate_limit.rejected（dimension=ip/username，source=local/redis）
+ *
+ * @author nexus
+ */
+@Slf4j
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/login";
+    private static final String KEY_PREFIX = "login:limit:";
+    private static final String DIMENSION_IP = "ip";
+    private static final String DIMENSION_USERNAME = "username";
+
+    private final RedissonClient redissonClient;
+    private final LoginRateLimitProperties properties;
+
+    /**
+     * 被限流的 key → 解除时间（毫秒）
+     */
+    private final Cache<String, Long> blockedKeys;
+
+    /**
+     * 本节点已初始化（trySetRate）的令牌桶，过期后重新初始化并续期 Redis key
+     */
+    private final Cache<String, RRateLimiter> limiters;
+
+    private final Counter ipLocalRejected;
+    private final Counter ipRedisRejected;
+    private final Counter usernameLocalRejected;
+    private final Counter usernameRedisRejected;
+
+    public LoginRateLimitFilter(RedissonClient redissonClient,
+            LoginRateLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        long maxIntervalSeconds = Math.max(properties.getIpIntervalSeconds(), properties.getUsernameIntervalSeconds());
+        this.blockedKeys = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(maxIntervalSeconds, TimeUnit.SECONDS)
+                .build();
+        this.limiters = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(maxIntervalSeconds, TimeUnit.SECONDS)
+                .build();
+        this.ipLocalRejected = rejectedCounter(meterRegistry, DIMENSION_IP, "local");
+        this.ipRedisRejected = rejectedCounter(meterRegistry, DIMENSION_IP, "redis");
+        this.usernameLocalRejected = rejectedCounter(meterRegistry, DIMENSION_USERNAME, "local");
+        this.usernameRedisRejected = rejectedCounter(meterRegistry, DIMENSION_USERNAME, "redis");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !LOGIN_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String ipKey = KEY_PREFIX + DIMENSION_IP + ":" + request.getRemoteAddr();
+        String username = normalizeUsername(request.getParameter("username"));
+        String usernameKey = username == null ? null : KEY_PREFIX + DIMENSION_USERNAME + ":" + hashUsername(username);
+
+        // 本地预检：被限流期间不访问 Redis
+        long retryAfter = blockedSeconds(ipKey);
+        if (retryAfter > 0) {
+            ipLocalRejected.increment();
+            reject(response, retryAfter);
+            return;
+        }
+        if (usernameKey != null && (retryAfter = blockedSeconds(usernameKey)) > 0) {
+            usernameLocalRejected.increment();
+            reject(response, retryAfter);
+            return;
+        }
+
+        if (!tryAcquire(ipKey, properties.getIpPermits(), properties.getIpIntervalSeconds())) {
+            ipRedisRejected.increment();
+            log.warn("登录请求过于频繁，IP: {}", request.getRemoteAddr());
+            reject(response, block(ipKey, properties.getIpPermits(), properties.getIpIntervalSeconds()));
+            return;
+        }
+        if (usernameKey != null
+                && !tryAcquire(usernameKey, properties.getUsernamePermits(), properties.getUsernameIntervalSeconds())) {
+            usernameRedisRejected.increment();
+            log.warn("登录请求过于频繁，用户名: {}, IP: {}", username, request.getRemoteAddr());
+            reject(response, block(usernameKey, properties.getUsernamePermits(),
+                    properties.getUsernameIntervalSeconds()));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean tryAcquire(String key, long permits, long intervalSeconds) {
+        try {
+            return limiters.get(key, () -> initLimiter(key, permits, intervalSeconds)).tryAcquire();
+        } catch (Exception e) {
+            // Redis 不可用时放行
+            log.warn("登录限流检查失败，放行请求，key: {}, 原因: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 初始化令牌桶（已存在时不修改速率），Redis key 的有效期为本地缓存的两倍，保证使用期间不会过期
+     */
+    private RRateLimiter initLimiter(String key, long permits, long intervalSeconds) {
+        RRateLimiter limiter = redissonClient.getRateLimiter(key);
+        limiter.trySetRate(RateType.OVERALL, permits, intervalSeconds, RateIntervalUnit.SECONDS);
+        long maxIntervalSeconds = Math.max(properties.getIpIntervalSeconds(), properties.getUsernameIntervalSeconds());
+        limiter.expire(Duration.ofSeconds(maxIntervalSeconds * 2));
+        return limiter;
+    }
+
+    /**
+     * 在本地记录被限流的 key，直到下一个令牌产生
+     *
+     * @return 建议的重试等待时间（秒）
+     */
+    private long block(String key, long permits, long intervalSeconds) {
+        long blockMillis = Math.max(1, TimeUnit.SECONDS.toMillis(intervalSeconds) / Math.max(1, permits));
+        blockedKeys.put(key, System.currentTimeMillis() + blockMillis);
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(blockMillis));
+    }
+
+    /**
+     * @return 剩余限流时间（秒），未被限流时返回 0
+     */
+    private long blockedSeconds(String key) {
+        Long blockedUntil = blockedKeys.getIfPresent(key);
+        if (blockedUntil == null) {
+            return 0;
+        }
+        long remaining = blockedUntil - System.currentTimeMillis();
+        if (remaining <= 0) {
+            blockedKeys.asMap().remove(key, blockedUntil);
+            return 0;
+        }
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remaining));
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"code\":429,\"message\":\"登录尝试过于频繁，请稍后再试\"}");
+    }
+
+    private static String normalizeUsername(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 按完整用户名的摘要限流：key 长度固定，超长用户名也不会落入同一个计数桶
+     */
+    private static String hashUsername(String username) {
+        return Hashing.sha256().hashString(username, StandardCharsets.UTF_8).toString();
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String dimension, String source) {
+        return Counter.builder("nexus.login.rate_limit.rejected")
+                .tag("dimension", dimension)
+                .tag("source", source)
+                .description("登录限流拒绝次数")
+                .register(meterRegistry);
+    }
+}
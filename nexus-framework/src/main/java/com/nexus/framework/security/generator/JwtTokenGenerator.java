@@ -1,10 +1,16 @@
 package com.nexus.framework.security.generator;
 
+import com.nexus.framework.security.config.JwtProperties;
 import com.nexus.framework.security.model.LoginUser;
+import com.nexus.framework.security.service.JwkSigningKeyHolder;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.service.UserTokenEpochService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -12,8 +18,7 @@ import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,9 +27,59 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JwtTokenGenerator {
 
+    /**
+     * 权限版本号声明
+     */
+    public static final String CLAIM_PERMISSION_VERSION = "pv";
+
+    /**
+     * 会话ID声明（刷新令牌所属会话，退出登录时据此撤销）
+     */
+    public static final String CLAIM_SESSION_ID = "sid";
+
+    /**
+     * 令牌纪元声明（小于用户当前纪元的令牌视为已撤销）
+     */
+    public static final String CLAIM_TOKEN_EPOCH = "ep";
+
+    /**
+     * 租户ID声明（登录时所在的租户）
+     */
+    public static final String CLAIM_TENANT_ID = "tid";
+
+    /**
+     * 权限声明（权限标识列表，未开启紧凑编码时使用）
+     */
+    public static final String CLAIM_AUTHORITIES = "authorities";
+
+    /**
+     * 紧凑权限声明（权限位图的 base64url 编码，位下标为 {@link PermissionRegistry} 分配的权限ID）
+     */
+    public static final String CLAIM_PERMISSION_MASK = "pmask";
+
+    /**
+     * 构建权限位图时的注册表版本（权限数量.前缀摘要）
+     */
+    public static final String CLAIM_PERMISSION_REGISTRY = "preg";
+
     private final JwtEncoder jwtEncoder;
+    private final JwkSigningKeyHolder jwkSigningKeyHolder;
+    private final JwtProperties jwtProperties;
+    private final UserTokenEpochService userTokenEpochService;
+    private final PermissionRegistry permissionRegistry;
 
     public String generateToken(Authentication authentication) {
+        return generateToken(authentication, null);
+    }
+
+    /**
+     * 生成访问令牌
+     *
+     * @param authentication 认证信息（principal 为 LoginUser）
+     * @param sessionId      刷新令牌会话ID，可为空
+     * @return JWT
+     */
+    public String generateToken(Authentication authentication, String sessionId) {
         Instant now = Instant.now();
 
         LoginUser loginUser = (LoginUser) authentication.getPrincipal();
@@ -33,27 +88,43 @@ public class JwtTokenGenerator {
         // 生成唯一的JWT ID（用于黑名单机制）
         String jti = UUID.randomUUID().toString();
 
-        // 提取用户权限
-        List<String> authorities = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
-
-        log.info("生成JWT Token，用户ID: {}, JTI: {}, 权限数量: {}", userId, jti, authorities.size());
-        log.debug("用户权限列表: {}", authorities);
+        // 提取用户权限（优先使用登录时加载的权限标识）
+        Collection<String> authorities = loginUser.getPermissions() != null
+                ? loginUser.getPermissions()
+                : authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList());
 
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
                 .issuer("nexus-app")
                 .issuedAt(now)
-                .expiresAt(now.plus(2, ChronoUnit.HOURS))
+                .expiresAt(now.plusSeconds(jwtProperties.getAccessTokenExpireSeconds()))
                 .subject(authentication.getName())
                 .id(jti) // JWT唯一标识
                 .claim("userId", userId)
-                .claim("authorities", authorities) // 添加权限信息
-                .build();
-        JwtEncoderParameters jwtEncoderParameters = JwtEncoderParameters.from(claims);
+                .claim(CLAIM_TOKEN_EPOCH, userTokenEpochService.getEpoch(userId)); // 令牌纪元
+        if (jwtProperties.isCompactAuthoritiesEnabled()) {
+            // 权限位图：数百个权限只占几十字节，注册表版本须在构建位图之后获取
+            claimsBuilder.claim(CLAIM_PERMISSION_MASK, PermissionRegistry.encodeMask(permissionRegistry.toMask(authorities)))
+                    .claim(CLAIM_PERMISSION_REGISTRY, permissionRegistry.version());
+        } else {
+            claimsBuilder.claim(CLAIM_AUTHORITIES, authorities); // 添加权限信息
+        }
+        if (sessionId != null) {
+            claimsBuilder.claim(CLAIM_SESSION_ID, sessionId); // 会话ID
+        }
+        if (loginUser.getTenantId() != null) {
+            claimsBuilder.claim(CLAIM_TENANT_ID, loginUser.getTenantId()); // 租户ID
+        }
+        if (loginUser.getPermissionVersion() != null) {
+            claimsBuilder.claim(CLAIM_PERMISSION_VERSION, loginUser.getPermissionVersion()); // 权限版本号
+        }
+        // 签名算法取自当前签发密钥（RS256 / ES256 等）
+        JwsHeader jwsHeader = JwsHeader.with(SignatureAlgorithm.from(jwkSigningKeyHolder.getAlgorithm())).build();
+        JwtEncoderParameters jwtEncoderParameters = JwtEncoderParameters.from(jwsHeader, claimsBuilder.build());
         Jwt encode = jwtEncoder.encode(jwtEncoderParameters);
         String token = encode.getTokenValue();
-        log.info("生成JWT Token成功，用户ID: {}, JTI: {}, 包含 {} 个权限", userId, jti, authorities.size());
+        log.debug("生成JWT Token成功，用户ID: {}, JTI: {}, 包含 {} 个权限", userId, jti, authorities.size());
         return token;
     }
 }
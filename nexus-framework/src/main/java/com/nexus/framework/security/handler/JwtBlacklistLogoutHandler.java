@@ -1,24 +1,26 @@
 package com.nexus.framework.security.handler;
 
+import com.nexus.framework.security.decoder.CachingJwtDecoder;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.service.JwtBlacklistCache;
+import com.nexus.framework.security.service.RefreshTokenService;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.TimeUnit;
 
 /**
  * JWT黑名单退出处理器
  * 
- * 将退出的JWT加入Redis黑名单，使其立即失效
+ * 将退出的JWT加入Redis黑名单，并通知所有节点更新本地黑名单，使其立即失效；
+ * 同时撤销刷新令牌所属会话（访问令牌中的 sid，或请求参数 refreshToken）
  * 
  * @author nexus
  */
@@ -27,17 +29,27 @@ import java.util.concurrent.TimeUnit;
 public class JwtBlacklistLogoutHandler implements LogoutHandler {
 
     @Resource
-    private RedisTemplate<String, String> redisTemplate;
+    private JwtBlacklistCache jwtBlacklistCache;
 
     @Resource
-    private JwtDecoder jwtDecoder;
+    private CachingJwtDecoder jwtDecoder;
 
-    private static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
+    @Resource
+    private RefreshTokenService refreshTokenService;
+
+    private static final String REFRESH_TOKEN_PARAMETER = "refreshToken";
 
     @Override
     public void logout(HttpServletRequest request,
             HttpServletResponse response,
             Authentication authentication) {
+        // 访问令牌已过期时，通过刷新令牌撤销会话
+        try {
+            refreshTokenService.revokeByRefreshToken(request.getParameter(REFRESH_TOKEN_PARAMETER));
+        } catch (Exception e) {
+            log.error("撤销刷新令牌会话时发生错误", e);
+        }
+
         // 1. 从请求头获取JWT
         String token = resolveToken(request);
         if (token == null) {
@@ -46,9 +58,10 @@ public class JwtBlacklistLogoutHandler implements LogoutHandler {
         }
 
         try {
-            // 2. 解析JWT
+            // 2. 解析JWT（通常命中验签缓存）
             Jwt jwt = jwtDecoder.decode(token);
             String jti = jwt.getId();
+            refreshTokenService.revokeSession(jwt.getClaimAsString(JwtTokenGenerator.CLAIM_SESSION_ID));
 
             if (jti == null) {
                 log.warn("JWT中没有JTI，无法加入黑名单");
@@ -66,8 +79,8 @@ public class JwtBlacklistLogoutHandler implements LogoutHandler {
 
             // 4. 如果JWT还有有效时间，加入黑名单
             if (ttl > 0) {
-                String blacklistKey = BLACKLIST_KEY_PREFIX + jti;
-                redisTemplate.opsForValue().set(blacklistKey, "1", ttl, TimeUnit.SECONDS);
+                jwtBlacklistCache.add(jti, expiresAt);
+                jwtDecoder.invalidate(token);
 
                 log.info("JWT已加入黑名单，JTI: {}, TTL: {}秒", jti, ttl);
             } else {
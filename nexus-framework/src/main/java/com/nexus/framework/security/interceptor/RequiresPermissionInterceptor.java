@@ -0,0 +1,147 @@
+package com.nexus.framework.security.interceptor;
+
+import com.nexus.framework.security.annotation.RequiresPermission;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.util.SecurityFrameworkService;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RequiresPermission} 方法拦截器
+ *
+ * 启动时（所有单例创建完成后）扫描容器中标注了注解的方法，预先将权限标识解析为权限ID；
+ * 权限标识不在系统已定义的权限中时启动失败。调用时直接使用预解析的权限ID校验，
+ * 未预解析到的方法（如 JDK 代理的接口方法）在首次调用时解析。
+ * 校验不通过时抛出 AccessDeniedException，与 @PreAuthorize 的行为一致
+ *
+ * @author nexus
+ */
+@Slf4j
+public class RequiresPermissionInterceptor implements MethodInterceptor, SmartInitializingSingleton, BeanFactoryAware {
+
+    private final ObjectProvider<SecurityFrameworkService> securityFrameworkService;
+    private final ObjectProvider<PermissionRegistry> permissionRegistry;
+
+    private ListableBeanFactory beanFactory;
+
+    /**
+     * 方法 → 预解析的权限
+     */
+    private final Map<Method, CompiledPermission> compiled = new ConcurrentHashMap<>();
+
+    public RequiresPermissionInterceptor(ObjectProvider<SecurityFrameworkService> securityFrameworkService,
+            ObjectProvider<PermissionRegistry> permissionRegistry) {
+        this.securityFrameworkService = securityFrameworkService;
+        this.permissionRegistry = permissionRegistry;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    /**
+     * 预解析所有标注了注解的方法，发现未定义的权限标识时启动失败
+     *
+     * 须先按菜单ID顺序预注册系统权限再注册注解中的权限，保证各节点分配的权限ID一致；
+     * 预注册失败时不做校验，仍在首次调用时解析
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        PermissionRegistry registry = permissionRegistry.getObject();
+        if (!registry.preload()) {
+            log.warn("系统权限未能预注册，跳过 @RequiresPermission 权限标识校验，改为首次调用时解析");
+            return;
+        }
+        List<String> unknown = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> targetClass = ClassUtils.getUserClass(beanType);
+            if (!AnnotationUtils.isCandidateClass(targetClass, RequiresPermission.class)) {
+                continue;
+            }
+            ReflectionUtils.doWithMethods(targetClass, method -> {
+                CompiledPermission permission = compile(method, targetClass, registry, unknown);
+                if (permission != CompiledPermission.NONE) {
+                    compiled.putIfAbsent(method, permission);
+                }
+            }, ReflectionUtils.USER_DECLARED_METHODS);
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("@RequiresPermission 使用了系统中未定义的权限标识: " + unknown);
+        }
+        log.info("@RequiresPermission 预解析完成，方法数量: {}", compiled.size());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CompiledPermission permission = compiled.get(invocation.getMethod());
+        if (permission == null) {
+            permission = compiled.computeIfAbsent(invocation.getMethod(), method -> {
+                Object target = invocation.getThis();
+                Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+                return compile(method, targetClass, permissionRegistry.getObject(), null);
+            });
+        }
+        if (permission != CompiledPermission.NONE
+                && !securityFrameworkService.getObject().hasPermissionIds(
+                        permission.ids(), permission.permissions(), permission.all())) {
+            throw new AccessDeniedException("Access Denied");
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * 解析方法上（其次类上）的注解并注册权限ID
+     *
+     * @param unknown 不为空时收集未预注册的权限标识
+     */
+    private CompiledPermission compile(Method method, Class<?> targetClass, PermissionRegistry registry,
+            List<String> unknown) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod,
+                RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (annotation == null) {
+            return CompiledPermission.NONE;
+        }
+        String[] permissions = annotation.value();
+        int[] ids = new int[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            if (unknown != null && registry.idOf(permissions[i]) < 0) {
+                unknown.add(targetClass.getSimpleName() + "#" + method.getName() + ": " + permissions[i]);
+            }
+            // 注册而非查询：菜单权限稍后创建时获得相同的ID，缓存的ID始终有效
+            ids[i] = registry.register(permissions[i]);
+        }
+        return new CompiledPermission(ids, permissions, annotation.mode() == RequiresPermission.Mode.ALL);
+    }
+
+    private record CompiledPermission(int[] ids, String[] permissions, boolean all) {
+
+        static final CompiledPermission NONE = new CompiledPermission(new int[0], new String[0], false);
+    }
+}
@@ -1,16 +1,36 @@
 package com.nexus.framework.security.model;
 
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
 import java.util.Collection;
+import java.util.Set;
 
 @Getter
 public class LoginUser extends User {
 
     private final Long userId;
 
+    /**
+     * 加载权限前读取的权限版本号，写入JWT用于判断token中的权限是否过期
+     */
+    @Setter
+    private String permissionVersion;
+
+    /**
+     * 登录时加载的权限标识，签发JWT时直接使用，避免再次遍历 authorities
+     */
+    @Setter
+    private Set<String> permissions;
+
+    /**
+     * 登录时所在的租户，未开启多租户时为 null
+     */
+    @Setter
+    private Long tenantId;
+
     public LoginUser(Long userId, String username, String password,
             Collection<? extends GrantedAuthority> authorities) {
         super(username, password, authorities);
@@ -0,0 +1,34 @@
+package com.nexus.framework.security.model;
+
+import com.nexus.framework.security.service.PermissionRegistry;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * 携带权限位图的 JWT 认证信息
+ *
+ * 位图下标为 {@link PermissionRegistry} 分配的权限ID，用于 O(1) 权限校验；
+ * authorities 仍保留字符串形式，兼容 Spring Security 原生的 hasAuthority
+ *
+ * @author nexus
+ */
+public class PermissionAuthenticationToken extends JwtAuthenticationToken {
+
+    private final long[] permissionMask;
+
+    public PermissionAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities,
+            long[] permissionMask) {
+        super(jwt, authorities);
+        this.permissionMask = permissionMask;
+    }
+
+    /**
+     * 判断是否拥有指定权限ID
+     */
+    public boolean hasPermissionId(int permissionId) {
+        return PermissionRegistry.contains(permissionMask, permissionId);
+    }
+}
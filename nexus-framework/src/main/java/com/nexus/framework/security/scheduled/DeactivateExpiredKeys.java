@@ -1,6 +1,7 @@
 package com.nexus.framework.security.scheduled;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nexus.framework.job.annotation.ClusterSingleton;
 import com.nexus.framework.security.dal.dataobject.JwkDO;
 import com.nexus.framework.security.dal.mapper.JwkMapper;
 import com.nexus.framework.security.service.JwkService;
@@ -25,6 +26,7 @@ public class DeactivateExpiredKeys {
      * 每天凌晨2点禁用过期的JWK（设置 isActive=false）
      */
     @Scheduled(cron = "0 0 2 * * ?")
+    @ClusterSingleton
     public void deactivateExpiredKeys() {
         log.info("开始执行定时任务：禁用过期JWK");
         jwkService.deactivateExpiredKeys();
@@ -34,6 +36,7 @@ public class DeactivateExpiredKeys {
      * 每天凌晨3点删除30天前过期的JWK（物理删除）
      */
     @Scheduled(cron = "0 0 3 * * ?")
+    @ClusterSingleton
     public void deleteExpiredKeys() {
         log.info("开始执行定时任务：删除30天前过期的JWK");
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
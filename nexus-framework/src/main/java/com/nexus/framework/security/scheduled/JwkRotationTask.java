@@ -0,0 +1,66 @@
+package com.nexus.framework.security.scheduled;
+
+import com.nexus.framework.security.config.JwkProperties;
+import com.nexus.framework.security.service.JwkService;
+import com.nexus.framework.security.service.JwkSigningKeyHolder;
+import com.nexus.framework.security.service.JwkVerificationKeyCache;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * JWK 自动轮换
+ *
+ * 1. 启动时确保存在可用密钥，并预先加载签发密钥和验签公钥集，首个请求不再冷加载
+ * 2. 定时检查密钥有效期，提前创建下一个密钥，密钥生成不会发生在请求路径上
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class JwkRotationTask {
+
+    @Resource
+    private JwkService jwkService;
+
+    @Resource
+    private JwkSigningKeyHolder jwkSigningKeyHolder;
+
+    @Resource
+    private JwkVerificationKeyCache jwkVerificationKeyCache;
+
+    @Resource
+    private JwkProperties jwkProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rotate();
+            jwkSigningKeyHolder.get();
+            jwkVerificationKeyCache.get();
+            log.info("JWK预热完成，签发算法: {}", jwkSigningKeyHolder.getAlgorithm());
+        } catch (Exception e) {
+            // 预热失败不影响启动，首次签发/验签时再加载
+            log.error("JWK预热失败", e);
+        }
+    }
+
+    /**
+     * 每10分钟检查是否需要轮换密钥
+     */
+    @Scheduled(initialDelay = 600_000, fixedDelay = 600_000)
+    public void rotate() {
+        if (!jwkProperties.isAutoRotationEnabled()) {
+            return;
+        }
+        try {
+            jwkService.rotateIfNecessary();
+        } catch (Exception e) {
+            // 旧密钥仍在有效期内，下次检查时重试
+            log.error("JWK轮换失败", e);
+        }
+    }
+}
@@ -5,24 +5,38 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.nexus.framework.security.config.JwkProperties;
 import com.nexus.framework.security.dal.dataobject.JwkDO;
 import com.nexus.framework.security.dal.mapper.JwkMapper;
+import com.nexus.framework.security.event.JwkChangedEvent;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
 import com.nimbusds.jose.jwk.RSAKey;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.annotation.Schedules;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
@@ -30,6 +44,7 @@ import java.security.spec.X509EncodedKeySpec;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -46,6 +61,8 @@ public class JwkService {
     private RedissonClient redissonClient;
     @Resource
     private JwkProperties jwkProperties;
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
 
     @Resource
     @Lazy
@@ -53,9 +70,91 @@ public class JwkService {
 
     private static final String JWK_CACHE_KEY = "oauth2:jwk:active";
     private static final String JWK_CREATE_LOCK_KEY = "oauth2:jwk:create:lock";
+    private static final String JWK_ROTATION_LOCK_KEY = "oauth2:jwk:rotation:lock";
+
+    /**
+     * JWK 版本号（每次密钥变更自增），各节点据此判断本地公钥缓存是否过期
+     */
+    public static final String JWK_VERSION_KEY = "oauth2:jwk:version";
+
+    /**
+     * JWK 变更通知频道（Redis 发布/订阅）
+     */
+    public static final String JWK_CHANGED_CHANNEL = "oauth2:jwk:changed";
+
+    /**
+     * 支持的JWS签名算法（验签时接受全部，便于新旧类型密钥混用）
+     */
+    public static final Set<JWSAlgorithm> SUPPORTED_ALGORITHMS = Set.of(
+            JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512,
+            JWSAlgorithm.ES256, JWSAlgorithm.ES384, JWSAlgorithm.ES512);
+
+    /**
+     * 启动时校验密钥类型与签名算法配置，避免轮换时才发现配置错误
+     */
+    @PostConstruct
+    public void validateConfig() {
+        JWSAlgorithm algorithm = resolveAlgorithm(KeyType.parse(jwkProperties.getKeyType()), jwkProperties.getAlgorithm());
+        log.info("新建JWK使用的密钥类型: {}, 签名算法: {}", jwkProperties.getKeyType(), algorithm);
+    }
+
+    /**
+     * 获取签发密钥（含私钥）
+     *
+     * 新密钥创建后先进入预热期（{@link JwkProperties#getActivationDelayMinutes()}），
+     * 期间只用于验签、不用于签发，保证所有节点的验签公钥集都已包含新密钥后才切换签发
+     *
+     * @return 当前签发密钥，以及预热中的下一个密钥和其启用时间（没有时为 null）
+     */
+    public SigningKeys getSigningKeys() {
+        List<JwkDO> latest = jwkMapper.selectList(
+                new LambdaQueryWrapper<JwkDO>()
+                        .eq(JwkDO::getIsActive, true)
+                        .gt(JwkDO::getExpiresAt, LocalDateTime.now())
+                        .orderByDesc(JwkDO::getCreatedTime)
+                        .last("LIMIT 2"));
+        if (latest.isEmpty()) {
+            // 正常情况下由轮换任务在启动时和过期前提前创建
+            log.warn("数据库中没有活跃的JWK，创建新的JWK");
+            latest = List.of(jwkService.createAndSaveJwk());
+        }
+        JwkDO newest = latest.get(0);
+        LocalDateTime activateAt = getActivateAt(newest);
+        if (latest.size() > 1 && activateAt.isAfter(LocalDateTime.now())) {
+            return new SigningKeys(convertToJwk(latest.get(1)), convertToJwk(newest), activateAt);
+        }
+        return new SigningKeys(convertToJwk(newest), null, null);
+    }
 
-    public JWKSet getSigningJwkSet() {
-        return loadFromDatabaseWithoutLock();
+    /**
+     * 获取最新创建的活跃JWK
+     *
+     * @return 最新的JWK，没有时返回 null
+     */
+    public JwkDO getNewestActiveJwk() {
+        return jwkMapper.selectOne(
+                new LambdaQueryWrapper<JwkDO>()
+                        .eq(JwkDO::getIsActive, true)
+                        .gt(JwkDO::getExpiresAt, LocalDateTime.now())
+                        .orderByDesc(JwkDO::getCreatedTime)
+                        .last("LIMIT 1"));
+    }
+
+    /**
+     * 密钥开始用于签发的时间
+     */
+    public LocalDateTime getActivateAt(JwkDO jwkDO) {
+        return jwkDO.getCreatedTime().plusMinutes(jwkProperties.getActivationDelayMinutes());
+    }
+
+    /**
+     * 签发密钥
+     *
+     * @param current        当前签发密钥
+     * @param next           预热中的下一个密钥，可为空
+     * @param nextActivateAt 下一个密钥的启用时间，可为空
+     */
+    public record SigningKeys(JWK current, JWK next, LocalDateTime nextActivateAt) {
     }
 
     /**
@@ -168,27 +267,28 @@ public class JwkService {
 
     /**
      * 创建并保存新的JWK（保存到数据库 + Redis）
+     * 密钥类型和算法取自 {@link JwkProperties}
      */
     @Transactional(rollbackFor = Exception.class)
     public JwkDO createAndSaveJwk() {
         try {
-            KeyPair keyPair = generateRsaKey();
-            RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-            RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
+            KeyType keyType = KeyType.parse(jwkProperties.getKeyType());
+            JWSAlgorithm algorithm = resolveAlgorithm(keyType, jwkProperties.getAlgorithm());
+            KeyPair keyPair = generateKeyPair(keyType, algorithm);
 
             JwkDO jwkDO = new JwkDO();
             jwkDO.setKeyId(UUID.randomUUID().toString());
-            jwkDO.setKeyType("RSA");
-            jwkDO.setAlgorithm("RS256");
-            jwkDO.setPublicKey(Base64.getEncoder().encodeToString(publicKey.getEncoded()));
-            jwkDO.setPrivateKey(Base64.getEncoder().encodeToString(privateKey.getEncoded()));
+            jwkDO.setKeyType(keyType.getValue());
+            jwkDO.setAlgorithm(algorithm.getName());
+            jwkDO.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            jwkDO.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
             jwkDO.setCreatedTime(LocalDateTime.now());
             jwkDO.setExpiresAt(LocalDateTime.now().plusDays(jwkProperties.getValidityDays()));
             jwkDO.setIsActive(true);
 
             jwkMapper.insert(jwkDO);
-            log.info("成功创建并保存JWK到数据库，keyId={}, 过期时间={}天",
-                    jwkDO.getKeyId(), jwkProperties.getValidityDays());
+            log.info("成功创建并保存JWK到数据库，keyId={}, 算法={}, 过期时间={}天",
+                    jwkDO.getKeyId(), jwkDO.getAlgorithm(), jwkProperties.getValidityDays());
 
             // 清除缓存，下次验证时会加载包含新密钥的JWKSet
             clearCache();
@@ -201,36 +301,72 @@ public class JwkService {
     }
 
     /**
-     * 生成RSA密钥对
+     * 校验密钥类型与签名算法是否匹配
+     */
+    private JWSAlgorithm resolveAlgorithm(KeyType keyType, String algorithmName) {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(algorithmName);
+        if (!SUPPORTED_ALGORITHMS.contains(algorithm)) {
+            throw new IllegalArgumentException("不支持的JWS签名算法: " + algorithmName);
+        }
+        boolean matched = KeyType.RSA.equals(keyType)
+                ? JWSAlgorithm.Family.RSA.contains(algorithm)
+                : KeyType.EC.equals(keyType) && JWSAlgorithm.Family.EC.contains(algorithm);
+        if (!matched) {
+            throw new IllegalArgumentException("密钥类型 " + keyType + " 与签名算法 " + algorithmName + " 不匹配");
+        }
+        return algorithm;
+    }
+
+    /**
+     * 生成密钥对：RSA 使用配置的密钥长度，EC 使用算法对应的曲线
      */
-    private KeyPair generateRsaKey() {
+    private KeyPair generateKeyPair(KeyType keyType, JWSAlgorithm algorithm) {
         try {
+            if (KeyType.EC.equals(keyType)) {
+                KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+                keyPairGenerator.initialize(Curve.forJWSAlgorithm(algorithm).iterator().next().toECParameterSpec());
+                return keyPairGenerator.generateKeyPair();
+            }
             KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
+            keyPairGenerator.initialize(jwkProperties.getRsaKeySize());
             return keyPairGenerator.generateKeyPair();
         } catch (Exception e) {
-            throw new RuntimeException("生成RSA密钥对失败", e);
+            throw new RuntimeException("生成" + keyType + "密钥对失败", e);
         }
     }
 
     /**
      * 将数据库JWK对象转换为Nimbus JWK对象
+     * 历史数据未记录类型/算法时按 RSA/RS256 处理
      */
     private JWK convertToJwk(JwkDO jwkDO) {
         try {
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            KeyType keyType = jwkDO.getKeyType() != null ? KeyType.parse(jwkDO.getKeyType()) : KeyType.RSA;
+            JWSAlgorithm algorithm = jwkDO.getAlgorithm() != null
+                    ? JWSAlgorithm.parse(jwkDO.getAlgorithm())
+                    : JWSAlgorithm.RS256;
+            KeyFactory keyFactory = KeyFactory.getInstance(keyType.getValue());
 
             byte[] publicKeyBytes = Base64.getDecoder().decode(jwkDO.getPublicKey());
-            X509EncodedKeySpec publicKeySpec = new X509EncodedKeySpec(publicKeyBytes);
-            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(publicKeySpec);
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(publicKeyBytes));
 
             byte[] privateKeyBytes = Base64.getDecoder().decode(jwkDO.getPrivateKey());
-            PKCS8EncodedKeySpec privateKeySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
-            RSAPrivateKey privateKey = (RSAPrivateKey) keyFactory.generatePrivate(privateKeySpec);
-
-            return new RSAKey.Builder(publicKey)
-                    .privateKey(privateKey)
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKeyBytes));
+
+            if (KeyType.EC.equals(keyType)) {
+                ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+                return new ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+                        .privateKey((ECPrivateKey) privateKey)
+                        .keyID(jwkDO.getKeyId())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(algorithm)
+                        .build();
+            }
+            return new RSAKey.Builder((RSAPublicKey) publicKey)
+                    .privateKey((RSAPrivateKey) privateKey)
                     .keyID(jwkDO.getKeyId())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
                     .build();
         } catch (Exception e) {
             log.error("转换JWK失败，keyId={}", jwkDO.getKeyId(), e);
@@ -238,35 +374,89 @@ public class JwkService {
         }
     }
 
+    /**
+     * 获取当前JWK版本号
+     *
+     * @return 版本号，Redis 中不存在时返回 "0"
+     */
+    public String getJwkVersion() {
+        String version = redisTemplate.opsForValue().get(JWK_VERSION_KEY);
+        return version != null ? version : "0";
+    }
+
     /**
      * 清除JWK缓存（用于密钥轮换时）
+     *
+     * 在事务中调用时，延迟到事务提交后执行，避免其他节点在新密钥可见前重新加载并缓存旧数据
      */
     public void clearCache() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndNotify();
+                }
+            });
+            return;
+        }
+        evictAndNotify();
+    }
+
+    /**
+     * 删除Redis缓存，递增版本号并广播变更通知，各节点收到后刷新本地公钥缓存和签发密钥
+     */
+    private void evictAndNotify() {
+        eventPublisher.publishEvent(new JwkChangedEvent(this));
         try {
             redisTemplate.delete(JWK_CACHE_KEY);
-            log.info("已清除JWK缓存");
+            Long version = redisTemplate.opsForValue().increment(JWK_VERSION_KEY);
+            redisTemplate.convertAndSend(JWK_CHANGED_CHANNEL, String.valueOf(version));
+            log.info("已清除JWK缓存并通知各节点刷新，version={}", version);
         } catch (Exception e) {
             log.error("清除JWK缓存失败: {}", e.getMessage());
         }
     }
 
     /**
-     * 禁用过期的JWK
+     * 密钥即将过期（剩余有效期不足 {@link JwkProperties#getRotationAdvanceDays()} 天）或没有活跃密钥时创建新密钥
+     *
+     * 多节点只由获得锁的节点创建；新密钥提交后通过 {@link #clearCache()} 通知所有节点加入验签公钥集，
+     * 预热期结束后各节点才切换为用新密钥签发
+     *
+     * @return 是否创建了新密钥
      */
+    public boolean rotateIfNecessary() {
+        RLock lock = redissonClient.getLock(JWK_ROTATION_LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.debug("其他节点正在轮换JWK，跳过");
+            return false;
+        }
+        try {
+            JwkDO newest = getNewestActiveJwk();
+            if (newest != null
+                    && newest.getExpiresAt().minusDays(jwkProperties.getRotationAdvanceDays()).isAfter(LocalDateTime.now())) {
+                return false;
+            }
+            JwkDO created = jwkService.createAndSaveJwk();
+            log.info("JWK轮换完成，新密钥keyId={}，将于{}开始签发", created.getKeyId(), getActivateAt(created));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    /**
+     * 禁用过期的JWK（单条 UPDATE 批量禁用）
+     */
     @Transactional(rollbackFor = Exception.class)
     public void deactivateExpiredKeys() {
-        List<JwkDO> expiredJwks = jwkMapper.selectList(
-                new LambdaQueryWrapper<JwkDO>()
-                        .eq(JwkDO::getIsActive, true)
-                        .lt(JwkDO::getExpiresAt, LocalDateTime.now()));
+        int deactivated = jwkMapper.update(null, new LambdaUpdateWrapper<JwkDO>()
+                .set(JwkDO::getIsActive, false)
+                .eq(JwkDO::getIsActive, true)
+                .lt(JwkDO::getExpiresAt, LocalDateTime.now()));
 
-        if (!expiredJwks.isEmpty()) {
-            expiredJwks.forEach(jwk -> {
-                jwk.setIsActive(false);
-                jwkMapper.updateById(jwk);
-                log.info("已禁用过期的JWK，keyId={}", jwk.getKeyId());
-            });
+        if (deactivated > 0) {
+            log.info("已禁用{}个过期的JWK", deactivated);
             clearCache();
         }
     }
@@ -0,0 +1,165 @@
+package com.nexus.framework.security.service;
+
+import com.nexus.framework.security.event.JwkChangedEvent;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWT 签发密钥本地持有者
+ *
+ * 职责：
+ * 1. 在内存中保存已解析的最新签发密钥（含私钥），签发 JWT 时不再查询数据库和解码密钥
+ * 2. 本节点密钥变更时通过 {@link JwkChangedEvent} 原子替换，其他节点通过 Redis 发布/订阅替换
+ * 3. 定时比对 JWK 版本号，兜底处理丢失的变更通知，保证所有节点使用同一个最新密钥签发
+ * 4. 预热中的新密钥随快照一起加载，到达启用时间后在内存中原子切换，切换时不访问数据库和 Redis
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class JwkSigningKeyHolder implements MessageListener {
+
+    @Resource
+    private JwkService jwkService;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(JwkService.JWK_CHANGED_CHANNEL));
+    }
+
+    /**
+     * 获取只包含当前签发密钥的 JWKSet，首次调用时加载
+     */
+    public JWKSet get() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current.next() != null && System.currentTimeMillis() >= current.nextActivateAtMillis()
+                    ? activateNext(current).jwkSet()
+                    : current.jwkSet();
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            if (current != null) {
+                return current.jwkSet();
+            }
+            return reload().jwkSet();
+        }
+    }
+
+    /**
+     * 获取当前签发密钥的签名算法
+     */
+    public String getAlgorithm() {
+        JWK signingJwk = get().getKeys().get(0);
+        return signingJwk.getAlgorithm() != null ? signingJwk.getAlgorithm().getName() : "RS256";
+    }
+
+    @EventListener
+    public void onJwkChanged(JwkChangedEvent event) {
+        log.info("本节点JWK已变更，切换签发密钥");
+        refreshQuietly();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refreshQuietly();
+    }
+
+    /**
+     * 定时比对JWK版本号，兜底处理丢失的变更通知
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void checkVersion() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        try {
+            String version = jwkService.getJwkVersion();
+            if (!Objects.equals(version, current.version())) {
+                log.info("JWK版本号变化 {} -> {}，刷新签发密钥", current.version(), version);
+                refreshQuietly();
+            }
+        } catch (Exception e) {
+            log.warn("检查JWK版本号失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 预热结束，切换为用下一个密钥签发；并发切换时以先成功的为准
+     */
+    private Snapshot activateNext(Snapshot current) {
+        Snapshot activated = new Snapshot(new JWKSet(current.next()), null, 0, current.version());
+        if (snapshot.compareAndSet(current, activated)) {
+            log.info("新密钥预热结束，签发密钥已切换，keyId={}", current.next().getKeyID());
+            return activated;
+        }
+        return snapshot.get();
+    }
+
+    private void refreshQuietly() {
+        try {
+            synchronized (this) {
+                reload();
+            }
+        } catch (Exception e) {
+            // 刷新失败时继续使用旧密钥签发，旧密钥仍在验签公钥集中
+            log.error("刷新签发密钥失败", e);
+        }
+    }
+
+    /**
+     * 先读版本号再加载密钥：若加载期间密钥再次变更，下次版本比对会再次刷新
+     */
+    private Snapshot reload() {
+        String version = null;
+        try {
+            version = jwkService.getJwkVersion();
+        } catch (Exception e) {
+            log.warn("读取JWK版本号失败，下次版本比对时将重新刷新: {}", e.getMessage());
+        }
+        JwkService.SigningKeys signingKeys = jwkService.getSigningKeys();
+        JWK signingJwk = signingKeys.current();
+        JWK next = signingKeys.next();
+        long nextActivateAtMillis = next != null
+                ? signingKeys.nextActivateAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        Snapshot loaded = new Snapshot(new JWKSet(signingJwk), next, nextActivateAtMillis, version);
+        Snapshot previous = snapshot.getAndSet(loaded);
+        if (previous == null || !previous.jwkSet().getKeys().get(0).getKeyID().equals(signingJwk.getKeyID())) {
+            log.info("签发密钥已切换，keyId={}，version={}", signingJwk.getKeyID(), version);
+        }
+        if (next != null) {
+            log.info("下一个签发密钥预热中，keyId={}，启用时间={}", next.getKeyID(), signingKeys.nextActivateAt());
+        }
+        return loaded;
+    }
+
+    /**
+     * @param jwkSet               当前签发密钥
+     * @param next                 预热中的下一个密钥，没有时为 null
+     * @param nextActivateAtMillis 下一个密钥的启用时间（毫秒时间戳）
+     * @param version              加载时的JWK版本号
+     */
+    private record Snapshot(JWKSet jwkSet, JWK next, long nextActivateAtMillis, String version) {
+    }
+}
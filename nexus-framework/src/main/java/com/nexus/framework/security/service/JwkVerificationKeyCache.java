@@ -0,0 +1,173 @@
+package com.nexus.framework.security.service;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JWT 验签公钥本地缓存
+ *
+ * 职责：
+ * 1. 在本节点内存中保存已解析、只含公钥的不可变 JWKSet，验签时不再访问 Redis 和解析 JSON
+ * 2. 订阅 JWK 变更频道，密钥创建/禁用/清缓存后刷新（刷新期间继续使用旧公钥集）
+ * 3. 定时比对 Redis 中的 JWK 版本号，兜底处理丢失的发布/订阅消息
+ * 4. 只有遇到未知 kid 时才回源 Redis/数据库，并做限频，防止伪造 kid 击穿
+ * 5. 已有公钥集时回源不阻塞请求线程：其他线程正在刷新时直接使用当前公钥集
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class JwkVerificationKeyCache implements MessageListener {
+
+    /**
+     * 未知 kid 触发回源的最小间隔（毫秒）
+     */
+    private static final long MIN_RELOAD_INTERVAL_MILLIS = 5_000;
+
+    @Resource
+    private JwkService jwkService;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private volatile Snapshot snapshot;
+
+    private volatile long lastReloadMillis;
+
+    /**
+     * 回源锁：回源可能等待 JwkService 的分布式锁，请求线程只尝试获取
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    /**
+     * 刷新期间又收到变更通知时置位，由持有锁的刷新线程再刷新一次
+     */
+    private volatile boolean refreshPending;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(JwkService.JWK_CHANGED_CHANNEL));
+    }
+
+    /**
+     * 获取本地缓存的验签公钥集，首次调用时加载
+     */
+    public JWKSet get() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current.jwkSet();
+        }
+        // 首次加载没有可用的公钥集，只能等待
+        reloadLock.lock();
+        try {
+            current = snapshot;
+            if (current != null) {
+                return current.jwkSet();
+            }
+            return reload().jwkSet();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 本地公钥集中找不到 token 的 kid 时调用：限频回源，返回刷新后的公钥集
+     */
+    public JWKSet reloadForUnknownKey() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return get();
+        }
+        if (System.currentTimeMillis() - lastReloadMillis < MIN_RELOAD_INTERVAL_MILLIS || !reloadLock.tryLock()) {
+            // 限频窗口内，或其他线程正在刷新：不等待，使用当前公钥集
+            return current.jwkSet();
+        }
+        try {
+            if (System.currentTimeMillis() - lastReloadMillis < MIN_RELOAD_INTERVAL_MILLIS) {
+                return snapshot.jwkSet();
+            }
+            log.info("本地公钥缓存中未找到匹配的kid，回源加载JWK");
+            return reload().jwkSet();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String version = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.info("收到JWK变更通知，version={}，刷新本地公钥缓存", version);
+        refreshQuietly();
+    }
+
+    /**
+     * 定时比对JWK版本号，兜底处理丢失的变更通知
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void checkVersion() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            String version = jwkService.getJwkVersion();
+            if (!Objects.equals(version, current.version())) {
+                log.info("JWK版本号变化 {} -> {}，刷新本地公钥缓存", current.version(), version);
+                refreshQuietly();
+            }
+        } catch (Exception e) {
+            log.warn("检查JWK版本号失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 刷新公钥集；其他线程正在刷新时只登记，不等待
+     */
+    private void refreshQuietly() {
+        refreshPending = true;
+        while (refreshPending && reloadLock.tryLock()) {
+            try {
+                refreshPending = false;
+                reload();
+            } catch (Exception e) {
+                // 刷新失败时保留旧公钥集继续提供验签
+                log.error("刷新本地公钥缓存失败", e);
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 先读版本号再加载公钥集：若加载期间密钥再次变更，下次版本比对会再次刷新
+     */
+    private Snapshot reload() {
+        String version = null;
+        try {
+            version = jwkService.getJwkVersion();
+        } catch (Exception e) {
+            log.warn("读取JWK版本号失败，下次版本比对时将重新刷新: {}", e.getMessage());
+        }
+        JWKSet publicJwkSet = jwkService.getVerificationJwkSet().toPublicJWKSet();
+        Snapshot loaded = new Snapshot(publicJwkSet, version);
+        snapshot = loaded;
+        lastReloadMillis = System.currentTimeMillis();
+        log.debug("本地公钥缓存已刷新，version={}，公钥数量={}", version, publicJwkSet.getKeys().size());
+        return loaded;
+    }
+
+    private record Snapshot(JWKSet jwkSet, String version) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.nexus.framework.security.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 黑名单（本地预过滤 + Redis）
+ *
+ * 1. 本地保存已撤销 jti 的集合（按过期时间分钟分桶），绝大多数请求在本地即可判定"未撤销"，无需访问 Redis
+ * 2. 退出登录时写入 Redis 并通过发布/订阅通知所有节点加入本地集合
+ * 3. 仅当本地命中时才查询 Redis 确认；条目在 token 的 exp 之后按桶批量清除，内存有界
+ * 4. 启动时及定时全量扫描 Redis 同步本地集合，兜底处理丢失的通知；同步成功前所有请求直接查询 Redis
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class JwtBlacklistCache implements MessageListener {
+
+    public static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
+    public static final String BLACKLIST_CHANNEL = "jwt:blacklist:changed";
+
+    private static final String PAYLOAD_SEPARATOR = "|";
+    private static final long BUCKET_SECONDS = 60;
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * jti → 过期时间（epoch 秒）
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * 过期分钟桶 → 该分钟内过期的 jti
+     */
+    private final ConcurrentSkipListMap<Long, Set<String>> expiryBuckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * 本地集合是否已完成至少一次全量同步
+     */
+    private volatile boolean synced;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(BLACKLIST_CHANNEL));
+        syncFromRedis();
+    }
+
+    /**
+     * 将 JWT 加入黑名单，直到其过期
+     *
+     * @param jti       JWT唯一标识
+     * @param expiresAt JWT过期时间
+     */
+    public void add(String jti, Instant expiresAt) {
+        long ttl = expiresAt.getEpochSecond() - Instant.now().getEpochSecond();
+        if (ttl <= 0) {
+            return;
+        }
+        redisTemplate.opsForValue().set(BLACKLIST_KEY_PREFIX + jti, "1", ttl, TimeUnit.SECONDS);
+        addLocal(jti, expiresAt.getEpochSecond());
+        try {
+            redisTemplate.convertAndSend(BLACKLIST_CHANNEL, jti + PAYLOAD_SEPARATOR + expiresAt.getEpochSecond());
+        } catch (Exception e) {
+            // 其他节点会在下次全量同步时补齐
+            log.warn("发布JWT黑名单通知失败，JTI: {}, 原因: {}", jti, e.getMessage());
+        }
+    }
+
+    /**
+     * 检查JWT是否已撤销
+     *
+     * @param jti JWT唯一标识
+     * @return true=已撤销，false=未撤销
+     */
+    public boolean isBlacklisted(String jti) {
+        if (synced) {
+            Long expiresAt = revoked.get(jti);
+            if (expiresAt == null || expiresAt <= Instant.now().getEpochSecond()) {
+                return false;
+            }
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_KEY_PREFIX + jti));
+        } catch (Exception e) {
+            log.error("检查JWT黑名单时发生错误，JTI: {}", jti, e);
+            // 本地已确认撤销时保持拒绝；未同步时降级放行
+            return synced;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = payload.lastIndexOf(PAYLOAD_SEPARATOR);
+        if (index <= 0) {
+            log.warn("忽略格式错误的JWT黑名单通知: {}", payload);
+            return;
+        }
+        try {
+            addLocal(payload.substring(0, index), Long.parseLong(payload.substring(index + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式错误的JWT黑名单通知: {}", payload);
+        }
+    }
+
+    /**
+     * 定时清除已过期的 jti
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = Instant.now().getEpochSecond();
+        ConcurrentNavigableMap<Long, Set<String>> expired = expiryBuckets.headMap(now / BUCKET_SECONDS);
+        int count = 0;
+        for (Map.Entry<Long, Set<String>> bucket : expired.entrySet()) {
+            for (String jti : bucket.getValue()) {
+                revoked.remove(jti);
+                count++;
+            }
+            expiryBuckets.remove(bucket.getKey());
+        }
+        if (count > 0) {
+            log.debug("清除已过期的JWT黑名单条目: {}", count);
+        }
+    }
+
+    /**
+     * 定时全量同步 Redis 黑名单，兜底处理丢失的发布/订阅消息
+     */
+    @Scheduled(initialDelay = 300_000, fixedDelay = 300_000)
+    public void syncFromRedis() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(BLACKLIST_KEY_PREFIX + "*")
+                .count(1000)
+                .build();
+        long now = Instant.now().getEpochSecond();
+        int count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+                if (ttl == null || ttl <= 0) {
+                    continue;
+                }
+                addLocal(key.substring(BLACKLIST_KEY_PREFIX.length()), now + ttl);
+                count++;
+            }
+            synced = true;
+            log.debug("JWT黑名单本地同步完成，条目数: {}", count);
+        } catch (Exception e) {
+            log.error("同步JWT黑名单失败", e);
+        }
+    }
+
+    private void addLocal(String jti, long expiresAt) {
+        if (revoked.putIfAbsent(jti, expiresAt) != null) {
+            return;
+        }
+        // 向上取整到分钟桶，保证桶被清除时桶内 token 均已过期
+        long bucket = (expiresAt + BUCKET_SECONDS - 1) / BUCKET_SECONDS;
+        expiryBuckets.computeIfAbsent(bucket, k -> ConcurrentHashMap.newKeySet()).add(jti);
+    }
+}
@@ -0,0 +1,264 @@
+package com.nexus.framework.security.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nexus.framework.security.config.PermissionCacheProperties;
+import com.nexus.framework.security.event.PermissionChangedEvent;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 用户权限两级缓存
+ *
+ * 1. L1：本地 Guava 缓存（容量 + 过期时间淘汰），命中时不访问网络
+ * 2. L2：Redis String（permission:user:{userId}，value=租户ID|权限，每个用户独立过期），多节点共享，避免回源数据库
+ * 3. 失效：监听 {@link PermissionChangedEvent}（事务提交后），删除 L2 并通过
+ * Redis 发布/订阅通知所有节点清除 L1；回源期间发生过失效时不回写缓存，避免旧权限覆盖失效结果
+ * 4. 用户权限是角色菜单与当前租户菜单的交集，缓存值记录加载时的租户，租户不一致时视为未命中；
+ * 忽略租户时加载的是未按租户过滤的权限，不写入缓存
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class PermissionCache implements MessageListener {
+
+    private static final String CACHE_KEY_PREFIX = "permission:user:";
+    private static final String CHANGED_CHANNEL = "permission:changed";
+    private static final String ALL_USERS = "*";
+    private static final String SEPARATOR = ",";
+    private static final String TENANT_SEPARATOR = "|";
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Resource
+    private PermissionCacheProperties permissionCacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, CachedPermissions> localCache;
+
+    /**
+     * 失效代数：本节点每次清除 L1（含收到其他节点的通知）时递增
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private Counter redisHitCounter;
+    private Counter redisMissCounter;
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void init() {
+        localCache = CacheBuilder.newBuilder()
+                .maximumSize(permissionCacheProperties.getLocalMaximumSize())
+                .expireAfterWrite(permissionCacheProperties.getLocalExpireMinutes(), TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, localCache, "nexus.permission.cache.local");
+        redisHitCounter = Counter.builder("nexus.permission.cache.redis")
+                .tag("result", "hit")
+                .description("权限 Redis 缓存命中次数")
+                .register(meterRegistry);
+        redisMissCounter = Counter.builder("nexus.permission.cache.redis")
+                .tag("result", "miss")
+                .description("权限 Redis 缓存未命中次数")
+                .register(meterRegistry);
+        loadTimer = Timer.builder("nexus.permission.load")
+                .description("权限回源数据库加载耗时")
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANGED_CHANNEL));
+    }
+
+    /**
+     * 获取当前租户下的用户权限：L1 → L2 → 数据库
+     *
+     * @param userId 用户ID
+     * @param loader 回源加载函数
+     * @return 用户权限集合（不可变）
+     */
+    public Set<String> get(Long userId, Function<Long, Set<String>> loader) {
+        if (TenantContextHolder.isIgnore()) {
+            return load(userId, loader);
+        }
+        Long tenantId = TenantContextHolder.getTenantId();
+        CachedPermissions cached = localCache.getIfPresent(userId);
+        if (cached != null && Objects.equals(cached.tenantId(), tenantId)) {
+            return cached.permissions();
+        }
+
+        long loadGeneration = generation.get();
+        Set<String> permissions = getFromRedis(userId, tenantId);
+        if (permissions != null) {
+            redisHitCounter.increment();
+        } else {
+            redisMissCounter.increment();
+            permissions = load(userId, loader);
+            if (generation.get() != loadGeneration) {
+                // 加载期间权限已变更，加载结果可能是旧数据，本次直接返回，不回写缓存
+                return permissions;
+            }
+            putToRedis(userId, tenantId, permissions);
+        }
+        localCache.put(userId, new CachedPermissions(tenantId, permissions));
+        return permissions;
+    }
+
+    private Set<String> load(Long userId, Function<Long, Set<String>> loader) {
+        Set<String> loaded = loadTimer.record(() -> loader.apply(userId));
+        return loaded == null ? Collections.emptySet() : Set.copyOf(loaded);
+    }
+
+    /**
+     * 权限变更后失效缓存（事务提交后执行；无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        if (!event.isAll() && event.getUserIds().isEmpty()) {
+            return;
+        }
+        try {
+            String payload;
+            if (event.isAll()) {
+                deleteAllFromRedis();
+                payload = ALL_USERS;
+            } else {
+                redisTemplate.delete(event.getUserIds().stream()
+                        .map(userId -> CACHE_KEY_PREFIX + userId)
+                        .toList());
+                payload = event.getUserIds().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(SEPARATOR));
+            }
+            redisTemplate.convertAndSend(CHANGED_CHANNEL, payload);
+            log.info("权限缓存已失效，用户: {}", payload);
+        } catch (Exception e) {
+            log.error("失效权限Redis缓存失败，仅清除本地缓存", e);
+        }
+        evictLocal(event.isAll(), event.getUserIds());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (ALL_USERS.equals(payload)) {
+            evictLocal(true, Collections.emptySet());
+            return;
+        }
+        Set<Long> userIds = Arrays.stream(payload.split(SEPARATOR))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+        evictLocal(false, userIds);
+    }
+
+    private void evictLocal(boolean all, Collection<Long> userIds) {
+        generation.incrementAndGet();
+        if (all) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidateAll(userIds);
+        }
+    }
+
+    private Set<String> getFromRedis(Long userId, Long tenantId) {
+        try {
+            String value = redisTemplate.opsForValue().get(CACHE_KEY_PREFIX + userId);
+            if (value == null) {
+                return null;
+            }
+            String tenantPrefix = toTenantPrefix(tenantId);
+            if (!value.startsWith(tenantPrefix)) {
+                // 其他租户下加载的权限
+                return null;
+            }
+            value = value.substring(tenantPrefix.length());
+            if (value.isEmpty()) {
+                return Collections.emptySet();
+            }
+            return Set.of(value.split(SEPARATOR));
+        } catch (Exception e) {
+            log.warn("从Redis读取用户权限失败，userId: {}, 原因: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putToRedis(Long userId, Long tenantId, Set<String> permissions) {
+        try {
+            redisTemplate.opsForValue().set(CACHE_KEY_PREFIX + userId,
+                    toTenantPrefix(tenantId) + String.join(SEPARATOR, permissions),
+                    permissionCacheProperties.getRedisExpireHours(), TimeUnit.HOURS);
+        } catch (Exception e) {
+            log.warn("写入用户权限Redis缓存失败，userId: {}, 原因: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 逐批删除所有用户的权限缓存（SCAN 遍历，不阻塞 Redis）
+     */
+    private void deleteAllFromRedis() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(CACHE_KEY_PREFIX + "*")
+                .count(1000)
+                .build();
+        List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= DELETE_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.delete(batch);
+        }
+    }
+
+    private static String toTenantPrefix(Long tenantId) {
+        return (tenantId == null ? "" : tenantId.toString()) + TENANT_SEPARATOR;
+    }
+
+    /**
+     * 本地缓存的用户权限
+     *
+     * @param tenantId    加载时的租户ID，未开启多租户时为 null
+     * @param permissions 权限集合（不可变）
+     */
+    private record CachedPermissions(Long tenantId, Set<String> permissions) {
+    }
+}
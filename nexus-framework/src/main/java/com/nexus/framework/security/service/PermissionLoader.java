@@ -1,5 +1,7 @@
 package com.nexus.framework.security.service;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 public interface PermissionLoader {
@@ -8,4 +10,11 @@ public interface PermissionLoader {
      * 根据用户ID加载用户所有权限
      */
     Set<String> loadUserPermissions(Long userId);
+
+    /**
+     * 加载系统中定义的所有权限标识（按菜单ID排序），用于预注册权限ID
+     */
+    default List<String> loadAllPermissions() {
+        return Collections.emptyList();
+    }
 }
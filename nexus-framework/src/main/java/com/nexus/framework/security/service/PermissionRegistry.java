@@ -0,0 +1,281 @@
+package com.nexus.framework.security.service;
+
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 权限标识注册表
+ *
+ * 将权限标识字符串驻留为稠密的整数ID（从0开始递增），用户权限即可表示为 long[] 位图，
+ * 权限校验变为一次哈希查找 + 一次位运算，无需遍历权限集合、无对象分配
+ *
+ * 1. 启动时按菜单ID顺序预注册所有权限标识
+ * 2. 菜单新增/修改时注册新的权限标识
+ * 3. 构建位图时遇到未注册的权限标识会自动注册，因此各节点注册表不必严格同步
+ * 4. 已分配的ID永不变更或回收，已构建的位图始终有效
+ * 5. 位图可编码为 token 中的紧凑声明（{@link #encodeMask(long[])}），并附带注册表版本（权限数量 + 前缀摘要），
+ * 验证节点的注册表前缀与之一致时 ID 含义相同，可直接还原位图
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class PermissionRegistry {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * ID → 权限标识及前缀摘要（写时复制）
+     */
+    private volatile State state = new State(new String[0], new long[0]);
+
+    @Resource
+    private PermissionLoader permissionLoader;
+
+    /**
+     * 是否已预注册系统中定义的权限标识
+     */
+    private volatile boolean preloaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        preload();
+    }
+
+    /**
+     * 按菜单ID顺序预注册系统中定义的所有权限标识，成功后不再重复加载
+     *
+     * @return 是否已预注册（加载失败或系统中没有定义权限时返回 false）
+     */
+    public synchronized boolean preload() {
+        if (preloaded) {
+            return true;
+        }
+        try {
+            List<String> permissions = permissionLoader.loadAllPermissions();
+            register(permissions);
+            preloaded = permissions != null && !permissions.isEmpty();
+            log.info("权限注册表初始化完成，权限数量: {}", size());
+        } catch (Exception e) {
+            // 未预注册的权限在首次构建位图时按需注册
+            log.error("权限注册表初始化失败", e);
+        }
+        return preloaded;
+    }
+
+    /**
+     * 获取权限标识的ID
+     *
+     * @param permission 权限标识
+     * @return 权限ID，未注册时返回 -1
+     */
+    public int idOf(String permission) {
+        if (permission == null) {
+            return -1;
+        }
+        Integer id = ids.get(permission);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * 注册权限标识
+     *
+     * @param permission 权限标识
+     * @return 权限ID，权限标识为空时返回 -1
+     */
+    public int register(String permission) {
+        if (permission == null || permission.isBlank()) {
+            return -1;
+        }
+        Integer id = ids.get(permission);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(permission);
+            if (id != null) {
+                return id;
+            }
+            State current = state;
+            int next = current.permissions().length;
+            String[] permissions = Arrays.copyOf(current.permissions(), next + 1);
+            permissions[next] = permission;
+            long[] prefixHashes = Arrays.copyOf(current.prefixHashes(), next + 1);
+            prefixHashes[next] = Hashing.murmur3_128().newHasher()
+                    .putLong(next == 0 ? 0L : current.prefixHashes()[next - 1])
+                    .putString(permission, StandardCharsets.UTF_8)
+                    .hash()
+                    .asLong();
+            state = new State(permissions, prefixHashes);
+            ids.put(permission, next);
+            return next;
+        }
+    }
+
+    /**
+     * 批量注册权限标识（按传入顺序分配ID）
+     */
+    public void register(Collection<String> permissionList) {
+        if (permissionList == null) {
+            return;
+        }
+        for (String permission : permissionList) {
+            register(permission);
+        }
+    }
+
+    /**
+     * 将权限集合转换为位图，未注册的权限标识自动注册
+     *
+     * @param permissionList 权限标识集合
+     * @return 权限位图
+     */
+    public long[] toMask(Collection<String> permissionList) {
+        long[] mask = new long[(size() + 63) >>> 6];
+        for (String permission : permissionList) {
+            int id = register(permission);
+            if (id < 0) {
+                continue;
+            }
+            int word = id >>> 6;
+            if (word >= mask.length) {
+                mask = Arrays.copyOf(mask, word + 1);
+            }
+            mask[word] |= 1L << id;
+        }
+        return mask;
+    }
+
+    /**
+     * 判断位图中是否包含指定权限ID
+     */
+    public static boolean contains(long[] mask, int id) {
+        if (id < 0) {
+            return false;
+        }
+        int word = id >>> 6;
+        return word < mask.length && (mask[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * 将位图还原为权限标识集合
+     */
+    public Set<String> toPermissions(long[] mask) {
+        String[] current = state.permissions();
+        Set<String> result = new HashSet<>();
+        for (int word = 0; word < mask.length; word++) {
+            long bits = mask[word];
+            while (bits != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (id < current.length) {
+                    result.add(current[id]);
+                }
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取指定ID的权限标识
+     */
+    public String getPermission(int id) {
+        String[] current = state.permissions();
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * 已注册的权限数量
+     */
+    public int size() {
+        return state.permissions().length;
+    }
+
+    /**
+     * 当前注册表版本："权限数量.前缀摘要"，用于判断其他节点构建的位图能否在本节点还原
+     * 须在构建位图之后获取，保证版本覆盖位图中的全部ID
+     */
+    public String version() {
+        State current = state;
+        int size = current.permissions().length;
+        return size + "." + Long.toHexString(size == 0 ? 0L : current.prefixHashes()[size - 1]);
+    }
+
+    /**
+     * 位图编码为 base64url（小端字节序，去掉末尾的零字节）
+     */
+    public static String encodeMask(long[] mask) {
+        byte[] bytes = new byte[mask.length * Long.BYTES];
+        int length = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (mask[i >>> 3] >>> ((i & 7) << 3));
+            if (bytes[i] != 0) {
+                length = i + 1;
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, length));
+    }
+
+    /**
+     * 还原其他节点构建的位图
+     *
+     * @param encoded         {@link #encodeMask(long[])} 的结果
+     * @param registryVersion 构建位图时的 {@link #version()}
+     * @return 权限位图；本节点注册表前缀与之不一致或格式错误时返回 null，调用方应回退到其他方式加载权限
+     */
+    public long[] decodeMask(String encoded, String registryVersion) {
+        if (encoded == null || registryVersion == null || !matchesVersion(registryVersion)) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        long[] mask = new long[(bytes.length + Long.BYTES - 1) / Long.BYTES];
+        for (int i = 0; i < bytes.length; i++) {
+            mask[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return mask;
+    }
+
+    private boolean matchesVersion(String registryVersion) {
+        int separator = registryVersion.indexOf('.');
+        if (separator <= 0) {
+            return false;
+        }
+        try {
+            int size = Integer.parseInt(registryVersion, 0, separator, 10);
+            long hash = Long.parseUnsignedLong(registryVersion, separator + 1, registryVersion.length(), 16);
+            State current = state;
+            if (size == 0) {
+                return hash == 0L;
+            }
+            return size <= current.permissions().length && current.prefixHashes()[size - 1] == hash;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param permissions  ID → 权限标识
+     * @param prefixHashes 前 i+1 个权限标识的累积摘要，各节点按相同顺序注册时摘要相同
+     */
+    private record State(String[] permissions, long[] prefixHashes) {
+    }
+}
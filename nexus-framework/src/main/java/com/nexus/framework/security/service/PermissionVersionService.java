@@ -0,0 +1,159 @@
+package com.nexus.framework.security.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nexus.framework.security.config.PermissionCacheProperties;
+import com.nexus.framework.security.event.PermissionChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 用户权限版本号
+ *
+ * 版本号格式为"全局版本.用户版本"，写入 JWT 的 pv 声明；
+ * 用户权限变更时递增用户版本，无法定位受影响用户时递增全局版本。
+ * 版本号存储在 Redis Hash（permission:version），本地缓存并通过发布/订阅失效，
+ * 请求路径上通常无需访问网络即可判断 token 中的权限是否仍然有效
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class PermissionVersionService implements MessageListener {
+
+    private static final String VERSION_KEY = "permission:version";
+    private static final String VERSION_CHANNEL = "permission:version:changed";
+    private static final String GLOBAL_FIELD = "global";
+    private static final String ALL_USERS = "*";
+    private static final String SEPARATOR = ",";
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Resource
+    private PermissionCacheProperties permissionCacheProperties;
+
+    private Cache<Long, String> localCache;
+
+    /**
+     * 失效代数：本节点每次清除本地版本号（含收到其他节点的通知）时递增
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        localCache = CacheBuilder.newBuilder()
+                .maximumSize(permissionCacheProperties.getLocalMaximumSize())
+                .expireAfterWrite(permissionCacheProperties.getLocalExpireMinutes(), TimeUnit.MINUTES)
+                .build();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(VERSION_CHANNEL));
+    }
+
+    /**
+     * 获取用户当前权限版本号
+     *
+     * @param userId 用户ID
+     * @return 版本号，读取失败时返回 null（调用方应按版本不一致处理）
+     */
+    public String getVersion(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        String version = localCache.getIfPresent(userId);
+        if (version != null) {
+            return version;
+        }
+        long readGeneration = generation.get();
+        try {
+            HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
+            List<String> values = hashOps.multiGet(VERSION_KEY, List.of(GLOBAL_FIELD, String.valueOf(userId)));
+            version = valueOrZero(values.get(0)) + "." + valueOrZero(values.get(1));
+            localCache.put(userId, version);
+            if (generation.get() != readGeneration) {
+                // 读取期间版本号已递增，读到的可能是旧版本，不保留在本地缓存中
+                localCache.invalidate(userId);
+            }
+            return version;
+        } catch (Exception e) {
+            log.warn("读取用户权限版本号失败，userId: {}, 原因: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 权限变更后递增版本号（事务提交后执行；无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionChanged(PermissionChangedEvent event) {
+        if (!event.isAll() && event.getUserIds().isEmpty()) {
+            return;
+        }
+        try {
+            String payload;
+            if (event.isAll()) {
+                redisTemplate.opsForHash().increment(VERSION_KEY, GLOBAL_FIELD, 1);
+                payload = ALL_USERS;
+            } else {
+                for (Long userId : event.getUserIds()) {
+                    redisTemplate.opsForHash().increment(VERSION_KEY, String.valueOf(userId), 1);
+                }
+                payload = event.getUserIds().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(SEPARATOR));
+            }
+            redisTemplate.convertAndSend(VERSION_CHANNEL, payload);
+            log.debug("权限版本号已递增，用户: {}", payload);
+        } catch (Exception e) {
+            log.error("递增权限版本号失败，用户: {}", event.isAll() ? ALL_USERS : event.getUserIds(), e);
+        }
+        evictLocal(event.isAll(), event.getUserIds());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (ALL_USERS.equals(payload)) {
+            evictLocal(true, Collections.emptySet());
+            return;
+        }
+        evictLocal(false, Arrays.stream(payload.split(SEPARATOR))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .collect(Collectors.toSet()));
+    }
+
+    private void evictLocal(boolean all, Collection<Long> userIds) {
+        // 先递增代数再清除：并发读取要么在写入后发现代数变化，要么写入的值被随后的清除移除
+        generation.incrementAndGet();
+        if (all) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidateAll(userIds);
+        }
+    }
+
+    private static String valueOrZero(String value) {
+        return value == null ? "0" : value;
+    }
+}
@@ -0,0 +1,285 @@
+package com.nexus.framework.security.service;
+
+import com.google.common.hash.Hashing;
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.model.LoginUser;
+import com.nexus.framework.tenant.util.TenantUtils;
+import com.nexus.framework.web.exception.BusinessException;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 刷新令牌服务
+ *
+ * 1. 登录成功时创建会话（family）并签发不透明的刷新令牌，Redis 中只保存令牌的 SHA-256 摘要
+ * 2. 刷新时用 Lua 脚本原子地完成：校验 → 标记旧令牌已使用 → 写入新令牌（令牌轮换）
+ * 3. 已使用的令牌再次出现视为被盗用，撤销整个会话；宽限期内的重复使用（多标签页并发刷新）返回已签发的新刷新令牌，
+ * 新刷新令牌明文只在宽限期内保存在 Redis（refresh:successor:{旧令牌摘要}）
+ * 4. 访问令牌携带 sid（会话ID），退出登录时撤销会话
+ * 5. 刷新令牌记录签发时的用户令牌纪元，纪元递增后（修改密码等）无法再刷新
+ * 6. 刷新令牌记录登录时的租户，刷新后的访问令牌属于同一租户
+ *
+ * 刷新只需一次 Redis 调用 + 一次签名，不再进行密码哈希校验
+ *
+ * @author nexus
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String TOKEN_KEY_PREFIX = "refresh:token:";
+    private static final String FAMILY_KEY_PREFIX = "refresh:family:";
+    private static final String SUCCESSOR_KEY_PREFIX = "refresh:successor:";
+
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_USERNAME = "username";
+    private static final String FIELD_FAMILY_ID = "familyId";
+    private static final String FIELD_EPOCH = "epoch";
+    private static final String FIELD_TENANT_ID = "tenantId";
+
+    private static final String RESULT_OK = "ok";
+    private static final String RESULT_REPLAYED = "replayed";
+    private static final String RESULT_REUSED = "reused";
+
+    /**
+     * 令牌轮换脚本
+     * KEYS[1]=旧令牌key，KEYS[2]=会话key，KEYS[3]=新令牌key，KEYS[4]=旧令牌的后继key；
+     * ARGV[1]=有效期（秒），ARGV[2]=当前时间（毫秒），ARGV[3]=重复使用宽限期（毫秒），
+     * ARGV[4]=新刷新令牌，ARGV[5]=会话ID（调用前从旧令牌读取，与旧令牌中的不一致时视为无效）
+     */
+    private static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local data = redis.call('HMGET', KEYS[1], 'userId', 'username', 'familyId', 'usedAt', 'epoch', 'tenantId')
+            if not data[1] or data[3] ~= ARGV[5] then
+                return {'invalid'}
+            end
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return {'revoked'}
+            end
+            if data[4] then
+                if tonumber(ARGV[2]) - tonumber(data[4]) <= tonumber(ARGV[3]) then
+                    local successor = redis.call('GET', KEYS[4])
+                    if successor then
+                        return {'replayed', data[1], data[2], data[3], data[5] or '0', data[6] or '', successor}
+                    end
+                    return {'invalid'}
+                end
+                redis.call('DEL', KEYS[2])
+                return {'reused', data[1], data[2], data[3]}
+            end
+            redis.call('HSET', KEYS[1], 'usedAt', ARGV[2])
+            redis.call('HSET', KEYS[3], 'userId', data[1], 'username', data[2], 'familyId', data[3], 'epoch', data[5] or '0')
+            if data[6] then
+                redis.call('HSET', KEYS[3], 'tenantId', data[6])
+            end
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            if tonumber(ARGV[3]) > 0 then
+                redis.call('SET', KEYS[4], ARGV[4], 'PX', ARGV[3])
+            end
+            return {'ok', data[1], data[2], data[3], data[5] or '0', data[6] or ''}
+            """, List.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private JwtTokenGenerator jwtTokenGenerator;
+
+    @Resource
+    private PermissionLoader permissionLoader;
+
+    @Resource
+    private PermissionVersionService permissionVersionService;
+
+    @Resource
+    private UserTokenEpochService userTokenEpochService;
+
+    @Resource
+    private JwtProperties jwtProperties;
+
+    /**
+     * 登录成功后签发访问令牌和刷新令牌
+     *
+     * @param authentication 认证信息（principal 为 LoginUser）
+     * @return 令牌响应数据
+     */
+    public Map<String, Object> issue(Authentication authentication) {
+        LoginUser loginUser = (LoginUser) authentication.getPrincipal();
+        String familyId = UUID.randomUUID().toString();
+        long ttl = jwtProperties.getRefreshTokenExpireSeconds();
+
+        redisTemplate.opsForValue().set(FAMILY_KEY_PREFIX + familyId, String.valueOf(loginUser.getUserId()),
+                ttl, TimeUnit.SECONDS);
+        String refreshToken = generateOpaqueToken();
+        String tokenKey = tokenKey(refreshToken);
+        Map<String, String> data = new HashMap<>();
+        data.put(FIELD_USER_ID, String.valueOf(loginUser.getUserId()));
+        data.put(FIELD_USERNAME, loginUser.getUsername());
+        data.put(FIELD_FAMILY_ID, familyId);
+        data.put(FIELD_EPOCH, String.valueOf(userTokenEpochService.getEpoch(loginUser.getUserId())));
+        if (loginUser.getTenantId() != null) {
+            data.put(FIELD_TENANT_ID, String.valueOf(loginUser.getTenantId()));
+        }
+        redisTemplate.opsForHash().putAll(tokenKey, data);
+        redisTemplate.expire(tokenKey, ttl, TimeUnit.SECONDS);
+
+        String accessToken = jwtTokenGenerator.generateToken(authentication, familyId);
+        return buildTokenData(accessToken, refreshToken);
+    }
+
+    /**
+     * 使用刷新令牌换取新的访问令牌和刷新令牌
+     *
+     * @param refreshToken 刷新令牌
+     * @return 令牌响应数据
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BusinessException(401, "刷新令牌无效");
+        }
+        String digest = digest(refreshToken);
+        String tokenKey = TOKEN_KEY_PREFIX + digest;
+        // 会话ID保存在旧令牌中，先读出以便脚本声明全部访问的 key
+        Object familyIdValue = redisTemplate.opsForHash().get(tokenKey, FIELD_FAMILY_ID);
+        if (familyIdValue == null) {
+            throw new BusinessException(401, "刷新令牌无效或已过期，请重新登录");
+        }
+        String newRefreshToken = generateOpaqueToken();
+        List<String> result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(tokenKey, FAMILY_KEY_PREFIX + familyIdValue, tokenKey(newRefreshToken),
+                        SUCCESSOR_KEY_PREFIX + digest),
+                String.valueOf(jwtProperties.getRefreshTokenExpireSeconds()),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(TimeUnit.SECONDS.toMillis(jwtProperties.getRefreshReuseGraceSeconds())),
+                newRefreshToken,
+                familyIdValue.toString());
+
+        String status = result == null || result.isEmpty() ? null : result.get(0);
+        if (RESULT_REPLAYED.equals(status)) {
+            // 宽限期内的并发刷新：返回已签发的新刷新令牌，各标签页最终持有同一个令牌
+            newRefreshToken = result.get(6);
+            log.debug("宽限期内重复刷新，返回已签发的刷新令牌，userId: {}, sid: {}", result.get(1), result.get(3));
+        } else if (!RESULT_OK.equals(status)) {
+            if (RESULT_REUSED.equals(status)) {
+                log.warn("检测到刷新令牌被重复使用，已撤销会话，userId: {}, sid: {}", result.get(1), result.get(3));
+            } else {
+                log.debug("刷新令牌无效或会话已撤销: {}", status);
+            }
+            throw new BusinessException(401, "刷新令牌无效或已过期，请重新登录");
+        }
+
+        Long userId = Long.valueOf(result.get(1));
+        String username = result.get(2);
+        String familyId = result.get(3);
+        Long tenantId = result.size() > 5 && !result.get(5).isEmpty() ? Long.valueOf(result.get(5)) : null;
+        // 修改密码、停用、删除用户后，已签发的刷新令牌同样失效
+        Long currentEpoch = userTokenEpochService.findEpoch(userId);
+        if (currentEpoch == null) {
+            // 纪元未知时不签发新令牌，也不撤销会话（读取失败可能只是暂时的）
+            throw new BusinessException(401, "刷新令牌无效或已过期，请重新登录");
+        }
+        if (Long.parseLong(result.get(4)) < currentEpoch) {
+            revokeSession(familyId);
+            log.debug("刷新令牌已随用户令牌纪元递增而撤销，userId: {}, sid: {}", userId, familyId);
+            throw new BusinessException(401, "刷新令牌无效或已过期，请重新登录");
+        }
+        String accessToken = jwtTokenGenerator.generateToken(buildAuthentication(userId, username, tenantId), familyId);
+        log.debug("刷新令牌成功，userId: {}, sid: {}", userId, familyId);
+        return buildTokenData(accessToken, newRefreshToken);
+    }
+
+    /**
+     * 撤销会话（退出登录时调用），该会话下所有刷新令牌失效
+     *
+     * @param familyId 会话ID（访问令牌中的 sid）
+     */
+    public void revokeSession(String familyId) {
+        if (familyId == null || familyId.isBlank()) {
+            return;
+        }
+        redisTemplate.delete(FAMILY_KEY_PREFIX + familyId);
+        log.debug("已撤销会话，sid: {}", familyId);
+    }
+
+    /**
+     * 根据刷新令牌撤销会话（访问令牌已过期时退出登录）
+     *
+     * @param refreshToken 刷新令牌
+     */
+    public void revokeByRefreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        Object familyId = redisTemplate.opsForHash().get(tokenKey(refreshToken), FIELD_FAMILY_ID);
+        if (familyId != null) {
+            revokeSession(familyId.toString());
+        }
+    }
+
+    /**
+     * 构建刷新后的认证信息：权限从缓存加载，先读版本号再加载权限（与登录一致）
+     * 权限按登录时的租户加载（与租户分配的菜单取交集）
+     */
+    private Authentication buildAuthentication(Long userId, String username, Long tenantId) {
+        String permissionVersion = permissionVersionService.getVersion(userId);
+        Set<String> permissions = TenantUtils.call(tenantId, () -> permissionLoader.loadUserPermissions(userId));
+        List<GrantedAuthority> authorities = permissions.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        LoginUser loginUser = new LoginUser(userId, username, "", authorities);
+        loginUser.setPermissionVersion(permissionVersion);
+        loginUser.setPermissions(permissions);
+        loginUser.setTenantId(tenantId);
+        return UsernamePasswordAuthenticationToken.authenticated(loginUser, null, authorities);
+    }
+
+    private Map<String, Object> buildTokenData(String accessToken, String refreshToken) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("accessToken", accessToken);
+        data.put("tokenType", "Bearer");
+        data.put("expiresIn", jwtProperties.getAccessTokenExpireSeconds()); // 单位：秒
+        data.put("refreshToken", refreshToken);
+        data.put("refreshExpiresIn", jwtProperties.getRefreshTokenExpireSeconds());
+        return data;
+    }
+
+    private String generateOpaqueToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Redis 中只保存令牌摘要，泄露 Redis 数据不会泄露可用的刷新令牌
+     */
+    private static String tokenKey(String refreshToken) {
+        return TOKEN_KEY_PREFIX + digest(refreshToken);
+    }
+
+    private static String digest(String refreshToken) {
+        return Hashing.sha256().hashString(refreshToken, StandardCharsets.UTF_8).toString();
+    }
+}
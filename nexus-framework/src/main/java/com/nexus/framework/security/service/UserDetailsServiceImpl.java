@@ -14,10 +14,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("=== UserDetailsService加载用户 ===");
-        log.info("用户名: {}", username);
         UserDetails userDetails = dataBaseUserDetailsService.loadUserByUsername(username);
-        log.info("加载成功: {}", userDetails != null);
+        log.debug("UserDetailsService加载用户: {}, 成功: {}", username, userDetails != null);
         return userDetails;
     }
 }
@@ -0,0 +1,168 @@
+package com.nexus.framework.security.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nexus.framework.security.config.PermissionCacheProperties;
+import com.nexus.framework.security.event.TokenRevokedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户令牌纪元（epoch）
+ *
+ * 1. 每个用户一个递增计数器，签发令牌时写入 JWT 的 ep 声明
+ * 2. 令牌中的 ep 小于当前纪元即视为已撤销，撤销某个用户的全部令牌只需递增一次计数器，无需逐个拉黑 jti
+ * 3. 纪元存储在 Redis Hash（token:epoch，field=userId），本地缓存；
+ * 递增后通过发布/订阅把新值推送到所有节点，请求路径上通常无需访问网络
+ * 4. 本地缓存未命中且 Redis 读取失败时纪元未知：校验令牌时按已撤销处理（不缓存），
+ * 失败次数记录在 nexus.token.epoch.load.failure
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class UserTokenEpochService implements MessageListener {
+
+    private static final String EPOCH_KEY = "token:epoch";
+    private static final String EPOCH_CHANNEL = "token:epoch:changed";
+    private static final String SEPARATOR = ",";
+    private static final String VALUE_SEPARATOR = ":";
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Resource
+    private PermissionCacheProperties permissionCacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, Long> localCache;
+    private Counter loadFailureCounter;
+
+    @PostConstruct
+    public void init() {
+        localCache = CacheBuilder.newBuilder()
+                .maximumSize(permissionCacheProperties.getLocalMaximumSize())
+                .expireAfterWrite(permissionCacheProperties.getLocalExpireMinutes(), TimeUnit.MINUTES)
+                .build();
+        loadFailureCounter = Counter.builder("nexus.token.epoch.load.failure")
+                .description("读取用户令牌纪元失败次数")
+                .register(meterRegistry);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(EPOCH_CHANNEL));
+    }
+
+    /**
+     * 获取用户当前令牌纪元（签发令牌时使用）
+     *
+     * @param userId 用户ID
+     * @return 纪元，从未撤销过为 0；读取失败时返回 0（签发的令牌纪元偏小，最多被提前判定为已撤销）
+     */
+    public long getEpoch(Long userId) {
+        Long epoch = findEpoch(userId);
+        return epoch == null ? 0L : epoch;
+    }
+
+    /**
+     * 查询用户当前令牌纪元
+     *
+     * @param userId 用户ID
+     * @return 纪元，从未撤销过为 0；本地缓存未命中且读取 Redis 失败时返回 null（不缓存）
+     */
+    public Long findEpoch(Long userId) {
+        if (userId == null) {
+            return 0L;
+        }
+        Long epoch = localCache.getIfPresent(userId);
+        if (epoch != null) {
+            return epoch;
+        }
+        try {
+            Object value = redisTemplate.opsForHash().get(EPOCH_KEY, String.valueOf(userId));
+            epoch = value == null ? 0L : Long.parseLong(value.toString());
+            // 纪元只增不减：读取期间可能已收到更新的撤销通知，保留较大值，避免旧值覆盖
+            return localCache.asMap().merge(userId, epoch, Math::max);
+        } catch (Exception e) {
+            loadFailureCounter.increment();
+            log.warn("读取用户令牌纪元失败，userId: {}, 原因: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 判断令牌是否已被撤销
+     *
+     * @param userId     用户ID
+     * @param tokenEpoch 令牌中的纪元（旧令牌没有该声明时为 null，按 0 处理）
+     * @return true=已撤销；当前纪元未知时同样返回 true，不放行可能已撤销的令牌
+     */
+    public boolean isRevoked(Long userId, Long tokenEpoch) {
+        Long epoch = findEpoch(userId);
+        if (epoch == null) {
+            log.warn("用户令牌纪元未知，按已撤销处理，userId: {}", userId);
+            return true;
+        }
+        return (tokenEpoch == null ? 0L : tokenEpoch) < epoch;
+    }
+
+    /**
+     * 递增用户纪元，撤销其全部令牌（事务提交后执行；无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        if (event.getUserIds().isEmpty()) {
+            return;
+        }
+        List<String> entries = new ArrayList<>(event.getUserIds().size());
+        try {
+            for (Long userId : event.getUserIds()) {
+                Long epoch = redisTemplate.opsForHash().increment(EPOCH_KEY, String.valueOf(userId), 1);
+                localCache.asMap().merge(userId, epoch, Math::max);
+                entries.add(userId + VALUE_SEPARATOR + epoch);
+            }
+            redisTemplate.convertAndSend(EPOCH_CHANNEL, String.join(SEPARATOR, entries));
+            log.info("已撤销用户的全部令牌，用户: {}", event.getUserIds());
+        } catch (Exception e) {
+            log.error("递增用户令牌纪元失败，用户: {}", event.getUserIds(), e);
+            // 其他节点的本地缓存在过期后会重新读取 Redis
+            localCache.invalidateAll(event.getUserIds());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String entry : payload.split(SEPARATOR)) {
+            int index = entry.indexOf(VALUE_SEPARATOR);
+            if (index <= 0) {
+                continue;
+            }
+            try {
+                Long userId = Long.valueOf(entry.substring(0, index));
+                long epoch = Long.parseLong(entry.substring(index + 1));
+                // 只前进不后退，避免乱序消息覆盖较新的值
+                localCache.asMap().merge(userId, epoch, Math::max);
+            } catch (NumberFormatException e) {
+                log.warn("忽略格式错误的令牌纪元通知: {}", entry);
+            }
+        }
+    }
+}
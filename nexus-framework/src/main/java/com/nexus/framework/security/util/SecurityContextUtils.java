@@ -1,13 +1,18 @@
 package com.nexus.framework.security.util;
 
+import com.nexus.framework.security.model.LoginUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
 /**
  * Security 上下文工具类
  * 用于获取当前登录用户信息
@@ -17,6 +22,32 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 @Slf4j
 public class SecurityContextUtils {
 
+    /**
+     * Principal 类 → userId（或 id）字段的读取句柄，字段不存在时为 null
+     */
+    private static final ClassValue<MethodHandle> USER_ID_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            MethodHandle getter = findFieldGetter(type, "userId");
+            return getter != null ? getter : findFieldGetter(type, "id");
+        }
+    };
+
+    /**
+     * Principal 类 → username 字段的读取句柄，字段不存在时为 null
+     */
+    private static final ClassValue<MethodHandle> USERNAME_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findFieldGetter(type, "username");
+        }
+    };
+
+    /**
+     * 当前线程最近一次解析的用户ID，认证信息对象不变时复用
+     */
+    private static final ThreadLocal<ResolvedUserId> RESOLVED_USER_ID = new ThreadLocal<>();
+
     /**
      * 获取当前登录用户ID（Long类型）
      * 
@@ -38,6 +69,8 @@ public class SecurityContextUtils {
 
     /**
      * 获取当前登录用户ID（String类型）
+     *
+     * 同一线程内认证信息未变化时直接返回上次解析结果（批量插入时每个实体都会调用）
      * 
      * @return 用户ID字符串，未登录或获取失败返回 null
      */
@@ -48,13 +81,20 @@ public class SecurityContextUtils {
             return null;
         }
 
+        ResolvedUserId resolved = RESOLVED_USER_ID.get();
+        if (resolved != null && resolved.authentication() == authentication) {
+            return resolved.userId();
+        }
+        String userId = resolveUserId(authentication);
+        RESOLVED_USER_ID.set(new ResolvedUserId(authentication, userId));
+        return userId;
+    }
+
+    private static String resolveUserId(Authentication authentication) {
         // 场景1: JWT认证（从JWT claims中获取userId）
-        if (authentication instanceof JwtAuthenticationToken) {
-            JwtAuthenticationToken jwtAuth = (JwtAuthenticationToken) authentication;
-            Jwt jwt = jwtAuth.getToken();
-            Object userId = jwt.getClaim("userId");
+        if (authentication instanceof JwtAuthenticationToken jwtAuth) {
+            Object userId = jwtAuth.getToken().getClaim("userId");
             if (userId != null) {
-                log.debug("从JWT claims中获取userId: {}", userId);
                 return userId.toString();
             }
         }
@@ -65,43 +105,32 @@ public class SecurityContextUtils {
             return null;
         }
 
-        // 场景2: Principal 是自定义的 LoginUser 对象（包含 userId 字段）
-        try {
-            java.lang.reflect.Field userIdField = principal.getClass().getDeclaredField("userId");
-            userIdField.setAccessible(true);
-            Object userId = userIdField.get(principal);
-            if (userId != null) {
-                log.debug("从LoginUser对象反射获取userId: {}", userId);
-                return userId.toString();
-            }
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            // 字段不存在，继续尝试其他方式
+        // 场景2: Principal 是 LoginUser 对象
+        if (principal instanceof LoginUser loginUser && loginUser.getUserId() != null) {
+            return loginUser.getUserId().toString();
         }
 
-        try {
-            java.lang.reflect.Field idField = principal.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            Object id = idField.get(principal);
-            if (id != null) {
-                log.debug("从Principal对象反射获取id: {}", id);
-                return id.toString();
+        // 场景3: 其他包含 userId / id 字段的 Principal（按类缓存字段访问句柄）
+        MethodHandle userIdGetter = USER_ID_GETTERS.get(principal.getClass());
+        if (userIdGetter != null) {
+            Object userId = invoke(userIdGetter, principal);
+            if (userId != null) {
+                log.debug("从Principal对象字段获取userId: {}", userId);
+                return userId.toString();
             }
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            // 字段不存在，继续
         }
 
-        // 场景3: Principal 是 UserDetails 对象
-        if (principal instanceof UserDetails) {
-            UserDetails userDetails = (UserDetails) principal;
+        // 场景4: Principal 是 UserDetails 对象
+        if (principal instanceof UserDetails userDetails) {
             return userDetails.getUsername();
         }
 
-        // 场景4: Principal 是字符串
-        if (principal instanceof String) {
-            return (String) principal;
+        // 场景5: Principal 是字符串
+        if (principal instanceof String str) {
+            return str;
         }
 
-        // 场景5: Principal 是数字
+        // 场景6: Principal 是数字
         if (principal instanceof Number) {
             return principal.toString();
         }
@@ -137,16 +166,13 @@ public class SecurityContextUtils {
             return (String) principal;
         }
 
-        // 尝试通过反射获取 username 字段
-        try {
-            java.lang.reflect.Field usernameField = principal.getClass().getDeclaredField("username");
-            usernameField.setAccessible(true);
-            Object username = usernameField.get(principal);
+        // 尝试读取 username 字段（按类缓存字段访问句柄）
+        MethodHandle usernameGetter = USERNAME_GETTERS.get(principal.getClass());
+        if (usernameGetter != null) {
+            Object username = invoke(usernameGetter, principal);
             if (username != null) {
                 return username.toString();
             }
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            // 忽略
         }
 
         return null;
@@ -194,4 +220,27 @@ public class SecurityContextUtils {
     public static boolean isAuthenticated() {
         return getAuthentication() != null;
     }
+
+    private static MethodHandle findFieldGetter(Class<?> type, String fieldName) {
+        try {
+            Field field = type.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+            // 字段不存在或不可访问
+            return null;
+        }
+    }
+
+    private static Object invoke(MethodHandle getter, Object principal) {
+        try {
+            return getter.invokeExact(principal);
+        } catch (Throwable e) {
+            log.warn("读取Principal字段失败，Principal类型: {}", principal.getClass().getName(), e);
+            return null;
+        }
+    }
+
+    private record ResolvedUserId(Authentication authentication, String userId) {
+    }
 }
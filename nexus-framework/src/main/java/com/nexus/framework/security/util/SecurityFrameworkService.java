@@ -1,5 +1,8 @@
 package com.nexus.framework.security.util;
 
+import com.nexus.framework.security.model.PermissionAuthenticationToken;
+import com.nexus.framework.security.service.PermissionRegistry;
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,9 +15,11 @@ import java.util.Collection;
  * 权限校验工具类
  * 
  * 用于在 @PreAuthorize 中进行权限校验，并提供日志记录功能
+ * 认证信息携带权限位图时，校验为 O(1) 位运算；否则退化为遍历 authorities
  * 
  * 使用示例：
  * @PreAuthorize("@ss.hasPermission('system:menu:create')")
+ * 优先使用 @RequiresPermission("system:menu:create")，权限ID在首次调用时解析并缓存，不需要执行 SpEL
  * 
  * @author nexus
  */
@@ -22,6 +27,9 @@ import java.util.Collection;
 @Component("ss")
 public class SecurityFrameworkService {
 
+    @Resource
+    private PermissionRegistry permissionRegistry;
+
     /**
      * 判断当前用户是否拥有指定权限
      * 
@@ -39,6 +47,28 @@ public class SecurityFrameworkService {
      * @return 是否拥有任意一个权限
      */
     public boolean hasAnyPermission(String... permissions) {
+        return hasPermissionIds(resolveIds(permissions), permissions, false);
+    }
+
+    /**
+     * 判断当前用户是否拥有所有指定权限
+     * 
+     * @param permissions 权限标识符列表
+     * @return 是否拥有所有权限
+     */
+    public boolean hasAllPermissions(String... permissions) {
+        return hasPermissionIds(resolveIds(permissions), permissions, true);
+    }
+
+    /**
+     * 使用预先解析的权限ID校验（供 @RequiresPermission 使用）
+     *
+     * @param permissionIds 权限ID，与 permissions 一一对应（未注册为 -1）
+     * @param permissions   权限标识符列表（用于遍历 authorities 和日志）
+     * @param all           true=需要全部权限，false=任意一个即可
+     * @return 是否通过校验
+     */
+    public boolean hasPermissionIds(int[] permissionIds, String[] permissions, boolean all) {
         Authentication authentication = getAuthentication();
         if (authentication == null) {
             log.warn("权限校验失败：用户未登录");
@@ -51,13 +81,27 @@ public class SecurityFrameworkService {
             return false;
         }
 
-        // 检查是否拥有任意一个权限
-        for (String permission : permissions) {
-            for (GrantedAuthority authority : authorities) {
-                if (authority.getAuthority().equals(permission)) {
-                    return true;
+        if (all) {
+            // 检查是否拥有所有权限
+            for (int i = 0; i < permissions.length; i++) {
+                if (!hasAuthority(authentication, authorities, permissionIds[i], permissions[i])) {
+                    log.warn("权限校验失败：用户 [{}] 缺少权限 [{}]，当前拥有权限：{}",
+                            authentication.getName(),
+                            permissions[i],
+                            authorities.stream()
+                                    .map(GrantedAuthority::getAuthority)
+                                    .toList());
+                    return false;
                 }
             }
+            return true;
+        }
+
+        // 检查是否拥有任意一个权限
+        for (int i = 0; i < permissions.length; i++) {
+            if (hasAuthority(authentication, authorities, permissionIds[i], permissions[i])) {
+                return true;
+            }
         }
 
         // 未通过，打印日志
@@ -71,40 +115,30 @@ public class SecurityFrameworkService {
     }
 
     /**
-     * 判断当前用户是否拥有所有指定权限
-     * 
-     * @param permissions 权限标识符列表
-     * @return 是否拥有所有权限
+     * 判断认证信息是否拥有单个权限：优先使用权限位图，否则遍历 authorities
      */
-    public boolean hasAllPermissions(String... permissions) {
-        Authentication authentication = getAuthentication();
-        if (authentication == null) {
-            log.warn("权限校验失败：用户未登录");
-            return false;
+    private boolean hasAuthority(Authentication authentication,
+            Collection<? extends GrantedAuthority> authorities, int permissionId, String permission) {
+        if (authentication instanceof PermissionAuthenticationToken token) {
+            return token.hasPermissionId(permissionId);
         }
-
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        if (authorities == null || authorities.isEmpty()) {
-            log.warn("权限校验失败：用户 [{}] 没有任何权限", authentication.getName());
-            return false;
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getAuthority().equals(permission)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // 检查是否拥有所有权限
-        for (String permission : permissions) {
-            boolean hasPermission = authorities.stream()
-                    .anyMatch(authority -> authority.getAuthority().equals(permission));
-
-            if (!hasPermission) {
-                log.warn("权限校验失败：用户 [{}] 缺少权限 [{}]，当前拥有权限：{}",
-                        authentication.getName(),
-                        permission,
-                        authorities.stream()
-                                .map(GrantedAuthority::getAuthority)
-                                .toList());
-                return false;
-            }
+    /**
+     * 查询权限ID（不注册未知权限）
+     */
+    private int[] resolveIds(String[] permissions) {
+        int[] ids = new int[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            ids[i] = permissionRegistry.idOf(permissions[i]);
         }
-        return true;
+        return ids;
     }
 
     /**
@@ -0,0 +1,21 @@
+package com.nexus.framework.tenant.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 租户耗时操作注解
+ *
+ * 标注的方法（导入、导出等）执行期间占用当前租户的一个耗时操作许可，
+ * 同一租户同时执行的耗时操作数超过上限时拒绝请求
+ *
+ * @author nexus
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TenantBulkhead {
+}
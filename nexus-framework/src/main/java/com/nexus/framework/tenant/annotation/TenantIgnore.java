@@ -0,0 +1,21 @@
+package com.nexus.framework.tenant.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 忽略租户注解
+ *
+ * 标注的方法（或类中所有方法）执行期间设置 {@code TenantContextHolder} 的忽略标记，
+ * 其中的 SQL 不追加 tenant_id 条件。方法上的注解优先于类上的注解
+ *
+ * @author nexus
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TenantIgnore {
+}
@@ -0,0 +1,29 @@
+package com.nexus.framework.tenant.bulkhead;
+
+/**
+ * 租户并发隔离类型
+ *
+ * @author nexus
+ */
+public enum BulkheadType {
+
+    /**
+     * 数据库访问（每条 SQL）
+     */
+    DB("db"),
+
+    /**
+     * 耗时操作（导入导出等，标注 @TenantBulkhead 的方法）
+     */
+    HEAVY("heavy");
+
+    private final String tag;
+
+    BulkheadType(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,196 @@
+package com.nexus.framework.tenant.bulkhead;
+
+import com.nexus.framework.tenant.config.TenantBulkheadProperties;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.service.TenantInfoCache;
+import com.nexus.framework.web.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 租户并发隔离（舱壁）
+ *
+ * 1. 按 租户 + 类型 各维护一个信号量，并发数取租户配置（system_tenant.max_db_concurrency 等），未配置时取默认值
+ * 2. 并发已满时按配置等待一段时间，超时或等待时间为 0 时拒绝（429）
+ * 3. 没有租户或忽略租户（系统任务、租户快照加载等）时不受限制
+ * 4. 租户的并发数修改后使用新的信号量，已持有旧信号量的调用结束后自然释放，切换期间并发数可能短暂超出
+ *
+ * 指标：nexus.tenant.bulkhead.in_flight、nexus.tenant.bulkhead.queued、nexus.tenant.bulkhead.limit、
+ * nexus.tenant.bulkhead.rejected（tenant=租户ID，type=db/heavy）
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class TenantBulkheadRegistry {
+
+    @Resource
+    private TenantBulkheadProperties properties;
+
+    @Resource
+    private TenantInfoCache tenantInfoCache;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private final Map<BulkheadKey, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 为当前租户获取一个并发许可，用完后须关闭
+     *
+     * @param type 隔离类型
+     * @return 并发许可（不受限制时返回空许可）
+     * @throws BusinessException 并发已满且等待超时
+     */
+    public Permit acquire(BulkheadType type) {
+        if (!properties.isEnabled() || TenantContextHolder.isIgnore()) {
+            return Permit.NONE;
+        }
+        Long tenantId = TenantContextHolder.getTenantId();
+        if (tenantId == null) {
+            return Permit.NONE;
+        }
+
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(new BulkheadKey(tenantId, type), this::createBulkhead);
+        Semaphore semaphore = bulkhead.semaphore(limitOf(tenantId, type));
+        if (!tryAcquire(bulkhead, semaphore, type == BulkheadType.DB
+                ? properties.getDbWaitMillis() : properties.getHeavyWaitMillis())) {
+            bulkhead.rejected.increment();
+            log.warn("租户并发已达上限，拒绝请求，租户ID: {}, 类型: {}, 并发数: {}",
+                    tenantId, type.getTag(), bulkhead.limit());
+            throw new BusinessException(429, "当前租户请求过多，请稍后再试");
+        }
+        bulkhead.inFlight.incrementAndGet();
+        return new Permit(bulkhead, semaphore);
+    }
+
+    private boolean tryAcquire(Bulkhead bulkhead, Semaphore semaphore, long waitMillis) {
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+        if (waitMillis <= 0) {
+            return false;
+        }
+        bulkhead.queued.incrementAndGet();
+        try {
+            return semaphore.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            bulkhead.queued.decrementAndGet();
+        }
+    }
+
+    private int limitOf(Long tenantId, BulkheadType type) {
+        TenantInfo tenant = tenantInfoCache.get(tenantId);
+        Integer limit = null;
+        if (tenant != null) {
+            limit = type == BulkheadType.DB ? tenant.maxDbConcurrency() : tenant.maxHeavyConcurrency();
+        }
+        if (limit == null || limit <= 0) {
+            limit = type == BulkheadType.DB ? properties.getDefaultDbConcurrency() : properties.getDefaultHeavyConcurrency();
+        }
+        return Math.max(1, limit);
+    }
+
+    private Bulkhead createBulkhead(BulkheadKey key) {
+        Bulkhead bulkhead = new Bulkhead(Counter.builder("nexus.tenant.bulkhead.rejected")
+                .tags(key.tags())
+                .description("租户并发已满被拒绝的次数")
+                .register(meterRegistry));
+        Gauge.builder("nexus.tenant.bulkhead.in_flight", bulkhead.inFlight, AtomicInteger::get)
+                .tags(key.tags())
+                .description("租户正在执行的调用数")
+                .register(meterRegistry);
+        Gauge.builder("nexus.tenant.bulkhead.queued", bulkhead.queued, AtomicInteger::get)
+                .tags(key.tags())
+                .description("租户等待并发许可的调用数")
+                .register(meterRegistry);
+        Gauge.builder("nexus.tenant.bulkhead.limit", bulkhead, Bulkhead::limit)
+                .tags(key.tags())
+                .description("租户并发数上限")
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private record BulkheadKey(Long tenantId, BulkheadType type) {
+
+        private Tags tags() {
+            return Tags.of("tenant", String.valueOf(tenantId), "type", type.getTag());
+        }
+    }
+
+    private record Limited(int limit, Semaphore semaphore) {
+    }
+
+    private static final class Bulkhead {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter rejected;
+
+        private volatile Limited current = new Limited(0, new Semaphore(0));
+
+        private Bulkhead(Counter rejected) {
+            this.rejected = rejected;
+        }
+
+        /**
+         * 返回与并发数一致的信号量，并发数变化时替换
+         */
+        private Semaphore semaphore(int limit) {
+            Limited limited = current;
+            if (limited.limit() != limit) {
+                synchronized (this) {
+                    limited = current;
+                    if (limited.limit() != limit) {
+                        limited = new Limited(limit, new Semaphore(limit));
+                        current = limited;
+                    }
+                }
+            }
+            return limited.semaphore();
+        }
+
+        private int limit() {
+            return current.limit();
+        }
+    }
+
+    /**
+     * 并发许可：关闭时归还到获取时的信号量
+     */
+    public static final class Permit implements AutoCloseable {
+
+        static final Permit NONE = new Permit(null, null);
+
+        private final Bulkhead bulkhead;
+        private final Semaphore semaphore;
+
+        private Permit(Bulkhead bulkhead, Semaphore semaphore) {
+            this.bulkhead = bulkhead;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (bulkhead != null) {
+                bulkhead.inFlight.decrementAndGet();
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.nexus.framework.tenant.bulkhead;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 租户 SQL 并发隔离：每条 SQL 执行期间占用当前租户的一个 DB 许可
+ *
+ * 嵌套查询（同一线程内已持有许可）不再重复获取，避免并发数为 1 时自己等待自己
+ *
+ * @author nexus
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class})
+})
+public class TenantDbBulkheadInterceptor implements Interceptor {
+
+    /**
+     * 当前线程是否已持有 DB 许可（不向子线程传递）
+     */
+    private static final ThreadLocal<Boolean> HOLDING = new ThreadLocal<>();
+
+    /**
+     * 延迟获取：并发隔离依赖的租户快照本身通过 MyBatis 加载
+     */
+    private final ObjectProvider<TenantBulkheadRegistry> registry;
+
+    public TenantDbBulkheadInterceptor(ObjectProvider<TenantBulkheadRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (HOLDING.get() != null) {
+            return invocation.proceed();
+        }
+        try (TenantBulkheadRegistry.Permit ignored = registry.getObject().acquire(BulkheadType.DB)) {
+            HOLDING.set(Boolean.TRUE);
+            try {
+                return invocation.proceed();
+            } finally {
+                HOLDING.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nexus.framework.tenant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.tenant.bulkhead")
+public class TenantBulkheadProperties {
+
+    /**
+     * 是否开启租户并发隔离
+     * 开启后每个租户同时执行的 SQL 数和耗时操作（导入导出等）数分别受限，避免单个租户占满连接池
+     */
+    private boolean enabled = false;
+
+    /**
+     * 每个租户同时执行的 SQL 数（租户未单独配置时使用）
+     */
+    private int defaultDbConcurrency = 4;
+
+    /**
+     * 每个租户同时执行的耗时操作数（租户未单独配置时使用）
+     */
+    private int defaultHeavyConcurrency = 2;
+
+    /**
+     * SQL 并发已满时的最长等待时间（毫秒），0 表示立即拒绝
+     */
+    private long dbWaitMillis = 500;
+
+    /**
+     * 耗时操作并发已满时的最长等待时间（毫秒），0 表示立即拒绝
+     */
+    private long heavyWaitMillis = 0;
+}
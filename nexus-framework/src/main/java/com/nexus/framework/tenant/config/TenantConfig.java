@@ -0,0 +1,42 @@
+package com.nexus.framework.tenant.config;
+
+import com.nexus.framework.tenant.annotation.TenantBulkhead;
+import com.nexus.framework.tenant.annotation.TenantIgnore;
+import com.nexus.framework.tenant.bulkhead.TenantBulkheadRegistry;
+import com.nexus.framework.tenant.interceptor.TenantBulkheadInterceptor;
+import com.nexus.framework.tenant.interceptor.TenantIgnoreInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+@Configuration
+public class TenantConfig {
+
+    /**
+     * @TenantIgnore 切面：标注在方法或类上
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tenantIgnoreAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                new AnnotationMatchingPointcut(null, TenantIgnore.class, true))
+                .union(new AnnotationMatchingPointcut(TenantIgnore.class, true));
+        return new DefaultPointcutAdvisor(pointcut, new TenantIgnoreInterceptor());
+    }
+
+    /**
+     * @TenantBulkhead 切面：标注在导入导出等耗时方法上
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tenantBulkheadAdvisor(ObjectProvider<TenantBulkheadRegistry> registry) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, TenantBulkhead.class, true),
+                new TenantBulkheadInterceptor(registry));
+    }
+}
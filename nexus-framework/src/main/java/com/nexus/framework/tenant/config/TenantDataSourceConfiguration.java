@@ -0,0 +1,39 @@
+package com.nexus.framework.tenant.config;
+
+import com.baomidou.dynamic.datasource.provider.DynamicDataSourceProvider;
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceProperties;
+import com.nexus.framework.tenant.datasource.TenantDataSourceManager;
+import com.nexus.framework.tenant.datasource.TenantRoutingDataSource;
+import com.nexus.framework.tenant.service.TenantInfoCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "nexus.tenant.datasource", name = "enabled", havingValue = "true")
+public class TenantDataSourceConfiguration {
+
+    /**
+     * 替换 dynamic-datasource 默认的 DynamicRoutingDataSource，配置项保持一致
+     * 租户快照和连接池管理延迟获取：二者加载数据时本身依赖该数据源
+     */
+    @Bean
+    public DataSource dataSource(List<DynamicDataSourceProvider> providers,
+            DynamicDataSourceProperties properties,
+            ObjectProvider<TenantInfoCache> tenantInfoCache,
+            ObjectProvider<TenantDataSourceManager> tenantDataSourceManager) {
+        TenantRoutingDataSource dataSource = new TenantRoutingDataSource(providers, tenantInfoCache,
+                tenantDataSourceManager);
+        dataSource.setPrimary(properties.getPrimary());
+        dataSource.setStrict(properties.getStrict());
+        dataSource.setStrategy(properties.getStrategy());
+        dataSource.setP6spy(properties.getP6spy());
+        dataSource.setSeata(properties.getSeata());
+        dataSource.setGraceDestroy(properties.getGraceDestroy());
+        return dataSource;
+    }
+}
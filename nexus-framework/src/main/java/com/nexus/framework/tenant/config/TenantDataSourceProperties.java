@@ -0,0 +1,47 @@
+package com.nexus.framework.tenant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.tenant.datasource")
+public class TenantDataSourceProperties {
+
+    /**
+     * 是否按租户路由数据源
+     * 开启后独立数据库的租户（datasource_id 不为 0）的 SQL 路由到该租户自己的连接池
+     */
+    private boolean enabled = false;
+
+    /**
+     * 每个租户连接池的最大连接数
+     */
+    private int maximumPoolSize = 5;
+
+    /**
+     * 每个租户连接池的最小空闲连接数，0 表示空闲连接全部回收
+     */
+    private int minimumIdle = 0;
+
+    /**
+     * 连接空闲回收时间（毫秒）
+     */
+    private long idleTimeoutMillis = 60_000;
+
+    /**
+     * 获取连接超时时间（毫秒）
+     */
+    private long connectionTimeoutMillis = 5_000;
+
+    /**
+     * 连接池无请求多久后关闭（分钟）
+     */
+    private long poolIdleEvictMinutes = 30;
+
+    /**
+     * 所有租户连接池的最大连接数之和上限
+     */
+    private int maxTotalConnections = 200;
+}
@@ -0,0 +1,36 @@
+package com.nexus.framework.tenant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nexus.tenant")
+public class TenantProperties {
+
+    /**
+     * 是否开启多租户
+     * 开启后每个请求按 JWT 或请求头确定租户，租户表上的 SQL 自动追加 tenant_id 条件
+     */
+    private boolean enabled = false;
+
+    /**
+     * 未登录时（登录请求等）携带租户ID的请求头
+     */
+    private String header = "tenant-id";
+
+    /**
+     * 按租户隔离的表（表中含 tenant_id 列），不在其中的表不追加租户条件
+     */
+    private Set<String> tables = new HashSet<>();
+
+    /**
+     * 无需租户即可访问的URL（Ant 风格），其余已登录请求必须能确定租户
+     */
+    private List<String> ignoreUrls = List.of("/login", "/logout", "/auth/**", "/actuator/**");
+}
@@ -0,0 +1,13 @@
+package com.nexus.framework.tenant.datasource;
+
+import com.nexus.framework.tenant.model.TenantDataSourceInfo;
+
+public interface TenantDataSourceInfoLoader {
+
+    /**
+     * 根据数据源ID加载连接信息
+     *
+     * @return 连接信息，不存在时返回 null
+     */
+    TenantDataSourceInfo load(Long datasourceId);
+}
@@ -0,0 +1,331 @@
+package com.nexus.framework.tenant.datasource;
+
+import com.nexus.framework.tenant.config.TenantDataSourceProperties;
+import com.nexus.framework.tenant.event.TenantDataSourceChangedEvent;
+import com.nexus.framework.tenant.model.TenantDataSourceInfo;
+import com.nexus.framework.tenant.util.TenantUtils;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 租户数据源连接池管理
+ *
+ * 1. 连接池在租户首次访问时创建（懒加载），空闲连接按 idleTimeout 回收，最小空闲连接数默认 0；
+ * 全局锁只用于预占连接数，加载配置和建立连接在锁外进行，同一数据源的并发请求等待同一次创建
+ * 2. 连接池超过 poolIdleEvictMinutes 无请求且没有活跃连接时整体关闭
+ * 3. 所有连接池的最大连接数之和不超过 maxTotalConnections，达到上限时先关闭最久未使用的空闲连接池，仍不足则拒绝创建
+ * 4. 数据源配置变更后通过 Redis 发布/订阅通知所有节点关闭旧连接池
+ *
+ * 连接池指标由 Hikari 以 hikaricp.* 记录（pool=tenant-ds-{数据源ID}），连接池数量和已占用的连接数上限
+ * 记录在 nexus.tenant.datasource.pools、nexus.tenant.datasource.reserved.connections
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class TenantDataSourceManager implements MessageListener {
+
+    public static final String DATASOURCE_CHANGED_CHANNEL = "tenant:datasource:changed";
+
+    private static final String POOL_NAME_PREFIX = "tenant-ds-";
+
+    @Resource
+    private TenantDataSourceInfoLoader tenantDataSourceInfoLoader;
+
+    @Resource
+    private TenantDataSourceProperties properties;
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 数据源ID → 连接池
+     */
+    private final Map<Long, PooledDataSource> pools = new ConcurrentHashMap<>();
+
+    /**
+     * 数据源ID → 创建中的连接池（同一数据源只创建一次，其他请求等待结果）
+     */
+    private final Map<Long, CompletableFuture<PooledDataSource>> creating = new ConcurrentHashMap<>();
+
+    /**
+     * 所有连接池（包括创建中的连接池）的最大连接数之和（仅在持有锁时修改）
+     */
+    private volatile int reservedConnections;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(DATASOURCE_CHANGED_CHANNEL));
+        Gauge.builder("nexus.tenant.datasource.pools", pools, Map::size)
+                .description("租户数据源连接池数量")
+                .register(meterRegistry);
+        Gauge.builder("nexus.tenant.datasource.reserved.connections", this, manager -> manager.reservedConnections)
+                .description("租户数据源连接池最大连接数之和")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取数据源的连接池，不存在时创建
+     *
+     * @param datasourceId 数据源ID
+     * @return 连接池
+     */
+    public DataSource getDataSource(Long datasourceId) {
+        while (true) {
+            PooledDataSource pooled = pools.get(datasourceId);
+            if (pooled == null) {
+                pooled = createOrAwait(datasourceId);
+            }
+            pooled.lastUsedMillis = System.currentTimeMillis();
+            // 先更新使用时间再确认连接池仍在使用中，与 closeIfUnused 移除后的再次检查配合，
+            // 保证返回的连接池不会被空闲回收关闭
+            if (pools.get(datasourceId) == pooled) {
+                return pooled.dataSource;
+            }
+        }
+    }
+
+    /**
+     * 关闭数据源的连接池，下次使用时按最新配置重新创建
+     */
+    public void evict(Long datasourceId) {
+        PooledDataSource pooled = pools.get(datasourceId);
+        if (pooled != null) {
+            close(datasourceId, pooled);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataSourceChanged(TenantDataSourceChangedEvent event) {
+        evict(event.getDatasourceId());
+        try {
+            redisTemplate.convertAndSend(DATASOURCE_CHANGED_CHANNEL, String.valueOf(event.getDatasourceId()));
+        } catch (Exception e) {
+            log.warn("发布租户数据源变更通知失败，数据源ID: {}, 原因: {}", event.getDatasourceId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(Long.valueOf(payload));
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式错误的租户数据源变更通知: {}", payload);
+        }
+    }
+
+    /**
+     * 定时关闭长时间未使用的连接池
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void evictIdlePools() {
+        long threshold = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(properties.getPoolIdleEvictMinutes());
+        pools.forEach((datasourceId, pooled) -> {
+            if (pooled.lastUsedMillis < threshold && pooled.activeConnections() == 0
+                    && closeIfUnused(datasourceId, pooled, threshold)) {
+                log.info("租户数据源连接池长时间未使用，已关闭连接池，数据源ID: {}", datasourceId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.forEach(this::close);
+    }
+
+    /**
+     * 创建连接池；同一数据源正在创建时等待其结果，不阻塞其他数据源
+     */
+    private PooledDataSource createOrAwait(Long datasourceId) {
+        CompletableFuture<PooledDataSource> future = new CompletableFuture<>();
+        CompletableFuture<PooledDataSource> existing = creating.putIfAbsent(datasourceId, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            PooledDataSource pooled = reserveAndCreate(datasourceId);
+            future.complete(pooled);
+            return pooled;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            creating.remove(datasourceId, future);
+        }
+    }
+
+    /**
+     * 持有锁预占连接数，在锁外加载配置并建立连接池，失败时释放预占的连接数
+     */
+    private PooledDataSource reserveAndCreate(Long datasourceId) {
+        int maximumPoolSize = properties.getMaximumPoolSize();
+        synchronized (this) {
+            PooledDataSource existing = pools.get(datasourceId);
+            if (existing != null) {
+                return existing;
+            }
+            while (reservedConnections + maximumPoolSize > properties.getMaxTotalConnections()) {
+                if (!evictLeastRecentlyUsed()) {
+                    throw new IllegalStateException("租户数据源连接数已达上限: " + properties.getMaxTotalConnections());
+                }
+            }
+            reservedConnections += maximumPoolSize;
+        }
+
+        PooledDataSource pooled;
+        try {
+            pooled = create(datasourceId, maximumPoolSize);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                reservedConnections -= maximumPoolSize;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pools.put(datasourceId, pooled);
+        }
+        return pooled;
+    }
+
+    private PooledDataSource create(Long datasourceId, int maximumPoolSize) {
+        // 数据源配置保存在主库，加载时忽略租户，避免路由回租户数据源
+        TenantDataSourceInfo info;
+        try {
+            info = TenantUtils.callIgnore(() -> tenantDataSourceInfoLoader.load(datasourceId));
+        } catch (Exception e) {
+            throw new IllegalStateException("加载租户数据源配置失败，数据源ID: " + datasourceId, e);
+        }
+        if (info == null) {
+            throw new IllegalStateException("租户数据源不存在，数据源ID: " + datasourceId);
+        }
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME_PREFIX + datasourceId);
+        config.setJdbcUrl(info.url());
+        config.setUsername(info.username());
+        config.setPassword(info.password());
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(properties.getMinimumIdle());
+        config.setIdleTimeout(properties.getIdleTimeoutMillis());
+        config.setConnectionTimeout(properties.getConnectionTimeoutMillis());
+        config.setMetricRegistry(meterRegistry);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        log.info("已创建租户数据源连接池，数据源ID: {}, 最大连接数: {}", datasourceId, maximumPoolSize);
+        return new PooledDataSource(dataSource);
+    }
+
+    /**
+     * 关闭最久未使用且没有活跃连接的连接池（须持有锁）
+     *
+     * @return 是否还有可关闭的连接池
+     */
+    private boolean evictLeastRecentlyUsed() {
+        Optional<Map.Entry<Long, PooledDataSource>> candidate = pools.entrySet().stream()
+                .filter(entry -> entry.getValue().activeConnections() == 0)
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastUsedMillis));
+        candidate.ifPresent(entry -> {
+            PooledDataSource pooled = entry.getValue();
+            if (closeIfUnused(entry.getKey(), pooled, pooled.lastUsedMillis + 1)) {
+                log.info("租户数据源连接数达到上限，已关闭最久未使用的连接池，数据源ID: {}", entry.getKey());
+            }
+        });
+        return candidate.isPresent();
+    }
+
+    /**
+     * 连接池在 sinceMillis 之后没有被使用且没有活跃连接时关闭
+     *
+     * 先从映射中移除再检查使用时间：并发的 {@link #getDataSource} 先更新使用时间再确认连接池仍在映射中，
+     * 二者至少有一方能看到对方的修改，已返回给调用方的连接池会被放回而不是关闭
+     *
+     * @return 是否关闭了连接池
+     */
+    private boolean closeIfUnused(Long datasourceId, PooledDataSource pooled, long sinceMillis) {
+        synchronized (this) {
+            if (!pools.remove(datasourceId, pooled)) {
+                return false;
+            }
+            if (pooled.lastUsedMillis >= sinceMillis || pooled.activeConnections() > 0) {
+                pools.put(datasourceId, pooled);
+                return false;
+            }
+            reservedConnections -= pooled.maximumPoolSize();
+        }
+        closeQuietly(datasourceId, pooled);
+        return true;
+    }
+
+    private void close(Long datasourceId, PooledDataSource pooled) {
+        synchronized (this) {
+            if (!pools.remove(datasourceId, pooled)) {
+                return;
+            }
+            reservedConnections -= pooled.maximumPoolSize();
+        }
+        closeQuietly(datasourceId, pooled);
+    }
+
+    private static void closeQuietly(Long datasourceId, PooledDataSource pooled) {
+        try {
+            pooled.dataSource.close();
+        } catch (Exception e) {
+            log.warn("关闭租户数据源连接池失败，数据源ID: {}, 原因: {}", datasourceId, e.getMessage());
+        }
+    }
+
+    private static final class PooledDataSource {
+
+        private final HikariDataSource dataSource;
+
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private PooledDataSource(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private int maximumPoolSize() {
+            return dataSource.getMaximumPoolSize();
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.nexus.framework.tenant.datasource;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.baomidou.dynamic.datasource.provider.DynamicDataSourceProvider;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.service.TenantInfoCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 按租户路由的动态数据源
+ *
+ * 1. 显式指定了数据源（@DS）时使用指定的数据源
+ * 2. 当前租户使用独立数据库（datasource_id 不为 0）时路由到该租户的连接池（{@link TenantDataSourceManager}）
+ * 3. 其他情况（没有租户、忽略租户、共享主库的租户）使用主数据源
+ *
+ * 租户信息取自本地快照，路由不访问数据库
+ *
+ * @author nexus
+ */
+public class TenantRoutingDataSource extends DynamicRoutingDataSource {
+
+    private final ObjectProvider<TenantInfoCache> tenantInfoCache;
+    private final ObjectProvider<TenantDataSourceManager> tenantDataSourceManager;
+
+    public TenantRoutingDataSource(List<DynamicDataSourceProvider> providers,
+            ObjectProvider<TenantInfoCache> tenantInfoCache,
+            ObjectProvider<TenantDataSourceManager> tenantDataSourceManager) {
+        super(providers);
+        this.tenantInfoCache = tenantInfoCache;
+        this.tenantDataSourceManager = tenantDataSourceManager;
+    }
+
+    @Override
+    public DataSource determineDataSource() {
+        Long tenantId = TenantContextHolder.getTenantId();
+        if (tenantId != null && !TenantContextHolder.isIgnore()
+                && !StringUtils.hasText(DynamicDataSourceContextHolder.peek())) {
+            TenantInfo tenant = tenantInfoCache.getObject().get(tenantId);
+            if (tenant != null && tenant.datasourceId() != null && tenant.datasourceId() != 0) {
+                return tenantDataSourceManager.getObject().getDataSource(tenant.datasourceId());
+            }
+        }
+        return super.determineDataSource();
+    }
+}
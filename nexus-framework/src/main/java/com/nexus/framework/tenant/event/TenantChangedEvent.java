@@ -0,0 +1,17 @@
+package com.nexus.framework.tenant.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 租户变更事件
+ *
+ * 新增、修改、删除租户的事务提交后，各节点重新加载本地租户快照
+ *
+ * @author nexus
+ */
+public class TenantChangedEvent extends ApplicationEvent {
+
+    public TenantChangedEvent(Object source) {
+        super(source);
+    }
+}
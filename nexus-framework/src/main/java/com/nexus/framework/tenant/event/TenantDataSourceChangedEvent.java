@@ -0,0 +1,25 @@
+package com.nexus.framework.tenant.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 租户数据源变更事件
+ *
+ * 修改或删除数据源配置的事务提交后，各节点关闭该数据源的连接池，下次使用时按新配置重新创建
+ *
+ * @author nexus
+ */
+@Getter
+public class TenantDataSourceChangedEvent extends ApplicationEvent {
+
+    /**
+     * 数据源ID
+     */
+    private final Long datasourceId;
+
+    public TenantDataSourceChangedEvent(Object source, Long datasourceId) {
+        super(source);
+        this.datasourceId = datasourceId;
+    }
+}
@@ -0,0 +1,143 @@
+package com.nexus.framework.tenant.filter;
+
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.tenant.config.TenantProperties;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.service.TenantInfoCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * 租户上下文过滤器
+ *
+ * 1. 已登录请求只从 JWT 的 tid 声明确定租户，令牌缺少 tid 时拒绝，请求头中的租户与之不一致时拒绝
+ * 2. 未登录请求（登录等）从请求头确定租户，登录请求必须携带租户请求头
+ * 3. 租户的状态和过期时间从本地快照（{@link TenantInfoCache}）校验，不访问数据库
+ *
+ * 须位于 JWT 认证过滤器之后、表单登录之前，登录时按租户查询用户
+ *
+ * @author nexus
+ */
+@Slf4j
+public class TenantContextFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_URL = "/login";
+
+    private final TenantProperties properties;
+    private final TenantInfoCache tenantInfoCache;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public TenantContextFilter(TenantProperties properties, TenantInfoCache tenantInfoCache) {
+        this.properties = properties;
+        this.tenantInfoCache = tenantInfoCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        Long headerTenantId;
+        try {
+            headerTenantId = parseTenantId(request.getHeader(properties.getHeader()));
+        } catch (NumberFormatException e) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST, "租户ID格式错误");
+            return;
+        }
+        Long tenantId;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            // 已登录请求只认令牌中的租户，请求头仅用于一致性校验
+            tenantId = resolveTokenTenantId(jwtAuthentication);
+            if (tenantId == null) {
+                log.warn("令牌缺少租户声明，用户: {}", jwtAuthentication.getName());
+                reject(response, HttpServletResponse.SC_UNAUTHORIZED, "令牌缺少租户信息");
+                return;
+            }
+            if (headerTenantId != null && !tenantId.equals(headerTenantId)) {
+                log.warn("请求头中的租户与令牌不一致，令牌租户: {}, 请求头租户: {}", tenantId, headerTenantId);
+                reject(response, HttpServletResponse.SC_FORBIDDEN, "无权访问该租户");
+                return;
+            }
+        } else if (authentication != null) {
+            // 其他认证方式无法携带租户，不允许由请求头指定
+            if (!isIgnoreUrl(request)) {
+                reject(response, HttpServletResponse.SC_BAD_REQUEST, "缺少租户信息");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        } else {
+            tenantId = headerTenantId;
+            if (tenantId == null) {
+                if (isLoginRequest(request)) {
+                    reject(response, HttpServletResponse.SC_BAD_REQUEST, "缺少租户信息");
+                    return;
+                }
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+
+        TenantInfo tenant = tenantInfoCache.get(tenantId);
+        if (tenant == null || !tenant.isAvailable(LocalDateTime.now())) {
+            log.debug("租户不存在、已禁用或已过期，租户ID: {}", tenantId);
+            reject(response, HttpServletResponse.SC_FORBIDDEN, "租户不存在、已禁用或已过期");
+            return;
+        }
+
+        TenantContextHolder.setTenantId(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    private static Long resolveTokenTenantId(JwtAuthenticationToken authentication) {
+        if (authentication.getToken().getClaims().get(JwtTokenGenerator.CLAIM_TENANT_ID) instanceof Number tenantId) {
+            return tenantId.longValue();
+        }
+        return null;
+    }
+
+    private static boolean isLoginRequest(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && LOGIN_URL.equals(request.getServletPath());
+    }
+
+    private static Long parseTenantId(String value) {
+        return value == null || value.isBlank() ? null : Long.valueOf(value.trim());
+    }
+
+    private boolean isIgnoreUrl(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (String pattern : properties.getIgnoreUrls()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"code\":" + status + ",\"message\":\"" + message + "\"}");
+    }
+}
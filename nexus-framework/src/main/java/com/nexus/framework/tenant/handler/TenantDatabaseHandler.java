@@ -0,0 +1,54 @@
+package com.nexus.framework.tenant.handler;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.nexus.framework.tenant.config.TenantProperties;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 租户 SQL 处理器
+ *
+ * 为 {@link TenantProperties#getTables()} 中的表追加 tenant_id = ? 条件（查询、更新、删除）或 tenant_id 列（插入）。
+ * 以下情况不处理：未开启多租户、设置了忽略标记、当前没有租户（平台级请求、定时任务）
+ *
+ * @author nexus
+ */
+public class TenantDatabaseHandler implements TenantLineHandler {
+
+    private static final String TENANT_ID_COLUMN = "tenant_id";
+
+    private final boolean enabled;
+    private final Set<String> tables;
+
+    public TenantDatabaseHandler(TenantProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.tables = properties.getTables().stream()
+                .map(table -> table.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Expression getTenantId() {
+        return new LongValue(TenantContextHolder.getRequiredTenantId());
+    }
+
+    @Override
+    public String getTenantIdColumn() {
+        return TENANT_ID_COLUMN;
+    }
+
+    @Override
+    public boolean ignoreTable(String tableName) {
+        if (!enabled || TenantContextHolder.isIgnore() || TenantContextHolder.getTenantId() == null) {
+            return true;
+        }
+        // 表名可能带反引号
+        String table = tableName.replace("`", "").toLowerCase(Locale.ROOT);
+        return !tables.contains(table);
+    }
+}
@@ -0,0 +1,49 @@
+package com.nexus.framework.tenant.handler;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+
+/**
+ * 租户行拦截器：当前没有租户或设置了忽略标记时直接放行，不解析 SQL
+ *
+ * {@link TenantDatabaseHandler#ignoreTable} 在 JSqlParser 解析之后才会被调用，
+ * 平台级请求、定时任务等没有租户的 SQL 在这里提前跳过，省去解析开销
+ *
+ * @author nexus
+ */
+public class TenantLineSkippingInterceptor extends TenantLineInnerInterceptor {
+
+    public TenantLineSkippingInterceptor(TenantLineHandler tenantLineHandler) {
+        super(tenantLineHandler);
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+            ResultHandler resultHandler, BoundSql boundSql) {
+        if (skip()) {
+            return;
+        }
+        super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        if (skip()) {
+            return;
+        }
+        super.beforePrepare(sh, connection, transactionTimeout);
+    }
+
+    private static boolean skip() {
+        return TenantContextHolder.isIgnore() || TenantContextHolder.getTenantId() == null;
+    }
+}
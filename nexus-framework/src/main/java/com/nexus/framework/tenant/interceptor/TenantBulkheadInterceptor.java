@@ -0,0 +1,29 @@
+package com.nexus.framework.tenant.interceptor;
+
+import com.nexus.framework.tenant.annotation.TenantBulkhead;
+import com.nexus.framework.tenant.bulkhead.BulkheadType;
+import com.nexus.framework.tenant.bulkhead.TenantBulkheadRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * {@link TenantBulkhead} 方法拦截器：执行期间占用当前租户的耗时操作许可
+ *
+ * @author nexus
+ */
+public class TenantBulkheadInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<TenantBulkheadRegistry> registry;
+
+    public TenantBulkheadInterceptor(ObjectProvider<TenantBulkheadRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try (TenantBulkheadRegistry.Permit ignored = registry.getObject().acquire(BulkheadType.HEAVY)) {
+            return invocation.proceed();
+        }
+    }
+}
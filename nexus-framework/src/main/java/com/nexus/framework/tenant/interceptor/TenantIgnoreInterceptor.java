@@ -0,0 +1,25 @@
+package com.nexus.framework.tenant.interceptor;
+
+import com.nexus.framework.tenant.annotation.TenantIgnore;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * {@link TenantIgnore} 方法拦截器：执行期间设置忽略标记，结束后恢复原来的值（支持嵌套调用）
+ *
+ * @author nexus
+ */
+public class TenantIgnoreInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        boolean oldIgnore = TenantContextHolder.isIgnore();
+        try {
+            TenantContextHolder.setIgnore(true);
+            return invocation.proceed();
+        } finally {
+            TenantContextHolder.setIgnore(oldIgnore);
+        }
+    }
+}
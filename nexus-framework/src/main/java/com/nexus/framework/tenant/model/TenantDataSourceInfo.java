@@ -0,0 +1,13 @@
+package com.nexus.framework.tenant.model;
+
+/**
+ * 租户数据源连接信息
+ *
+ * @param id       数据源ID
+ * @param url      JDBC连接
+ * @param username 用户名
+ * @param password 密码
+ * @author nexus
+ */
+public record TenantDataSourceInfo(Long id, String url, String username, String password) {
+}
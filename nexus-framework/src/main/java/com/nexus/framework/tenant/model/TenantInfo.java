@@ -0,0 +1,28 @@
+package com.nexus.framework.tenant.model;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+/**
+ * 租户信息快照（请求路径上校验租户所需的字段）
+ *
+ * @param id                  租户ID
+ * @param code                租户编码
+ * @param status              状态：0-禁用 1-启用
+ * @param expireTime          过期时间
+ * @param datasourceId        数据源ID
+ * @param maxDbConcurrency    同时执行的 SQL 数，0 表示使用默认值
+ * @param maxHeavyConcurrency 同时执行的耗时操作数，0 表示使用默认值
+ * @param menuIds             租户分配的菜单ID（按菜单ID置位，只读）
+ * @author nexus
+ */
+public record TenantInfo(Long id, String code, Integer status, LocalDateTime expireTime, Long datasourceId,
+        Integer maxDbConcurrency, Integer maxHeavyConcurrency, BitSet menuIds) {
+
+    /**
+     * 租户是否可用：已启用且未过期
+     */
+    public boolean isAvailable(LocalDateTime now) {
+        return Integer.valueOf(1).equals(status) && (expireTime == null || expireTime.isAfter(now));
+    }
+}
@@ -0,0 +1,132 @@
+package com.nexus.framework.tenant.service;
+
+import com.nexus.framework.tenant.event.TenantChangedEvent;
+import com.nexus.framework.tenant.model.TenantInfo;
+import com.nexus.framework.tenant.util.TenantUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 租户信息本地快照
+ *
+ * 1. 全部租户信息保存在本地不可变 Map 中，请求路径上校验租户（状态、过期时间）不访问数据库和 Redis
+ * 2. 租户变更时监听 {@link TenantChangedEvent}（事务提交后），通过 Redis 发布/订阅通知所有节点重新加载
+ * 3. 定时全量重新加载，兜底处理丢失的通知
+ *
+ * @author nexus
+ */
+@Slf4j
+@Component
+public class TenantInfoCache implements MessageListener {
+
+    public static final String TENANT_CHANGED_CHANNEL = "tenant:changed";
+
+    @Resource
+    private TenantInfoLoader tenantInfoLoader;
+
+    @Resource
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Resource
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * 租户ID → 租户信息，加载成功前为 null
+     */
+    private volatile Map<Long, TenantInfo> snapshot;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(TENANT_CHANGED_CHANNEL));
+    }
+
+    /**
+     * 获取租户信息
+     *
+     * @param tenantId 租户ID
+     * @return 租户信息，不存在时返回 null
+     */
+    public TenantInfo get(Long tenantId) {
+        Map<Long, TenantInfo> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current.get(tenantId);
+    }
+
+    /**
+     * 获取全部租户信息
+     */
+    public Map<Long, TenantInfo> getAll() {
+        Map<Long, TenantInfo> current = snapshot;
+        return current != null ? current : Collections.emptyMap();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantChanged(TenantChangedEvent event) {
+        refreshQuietly();
+        try {
+            redisTemplate.convertAndSend(TENANT_CHANGED_CHANNEL, "*");
+        } catch (Exception e) {
+            // 其他节点会在下次定时加载时更新
+            log.warn("发布租户变更通知失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refreshQuietly();
+    }
+
+    /**
+     * 定时全量重新加载，兜底处理丢失的发布/订阅消息
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void refreshQuietly() {
+        try {
+            synchronized (this) {
+                reload();
+            }
+        } catch (Exception e) {
+            // 加载失败时继续使用旧快照
+            log.error("加载租户信息失败", e);
+        }
+    }
+
+    /**
+     * 租户表保存在主库，加载时忽略租户，避免按租户路由数据源或追加租户条件
+     */
+    private Map<Long, TenantInfo> reload() {
+        List<TenantInfo> tenants;
+        try {
+            tenants = TenantUtils.callIgnore(tenantInfoLoader::loadAll);
+        } catch (Exception e) {
+            throw new IllegalStateException("加载租户信息失败", e);
+        }
+        Map<Long, TenantInfo> loaded = tenants.stream()
+                .collect(Collectors.toUnmodifiableMap(TenantInfo::id, Function.identity(), (a, b) -> b));
+        snapshot = loaded;
+        log.debug("租户信息已加载，租户数量: {}", loaded.size());
+        return loaded;
+    }
+}
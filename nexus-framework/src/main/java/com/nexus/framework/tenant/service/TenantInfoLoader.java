@@ -0,0 +1,13 @@
+package com.nexus.framework.tenant.service;
+
+import com.nexus.framework.tenant.model.TenantInfo;
+
+import java.util.List;
+
+public interface TenantInfoLoader {
+
+    /**
+     * 加载全部租户信息（含禁用和已过期的租户）
+     */
+    List<TenantInfo> loadAll();
+}
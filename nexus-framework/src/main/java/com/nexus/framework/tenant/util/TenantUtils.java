@@ -0,0 +1,75 @@
+package com.nexus.framework.tenant.util;
+
+import com.nexus.framework.tenant.context.TenantContextHolder;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 多租户工具类
+ *
+ * @author nexus
+ */
+public class TenantUtils {
+
+    private TenantUtils() {
+    }
+
+    /**
+     * 忽略租户执行（跨租户查询、平台级任务等），执行完成后恢复原来的忽略标记
+     */
+    public static void executeIgnore(Runnable runnable) {
+        boolean oldIgnore = TenantContextHolder.isIgnore();
+        try {
+            TenantContextHolder.setIgnore(true);
+            runnable.run();
+        } finally {
+            TenantContextHolder.setIgnore(oldIgnore);
+        }
+    }
+
+    /**
+     * 忽略租户执行并返回结果
+     */
+    public static <V> V callIgnore(Callable<V> callable) throws Exception {
+        boolean oldIgnore = TenantContextHolder.isIgnore();
+        try {
+            TenantContextHolder.setIgnore(true);
+            return callable.call();
+        } finally {
+            TenantContextHolder.setIgnore(oldIgnore);
+        }
+    }
+
+    /**
+     * 以指定租户执行，执行完成后恢复原来的租户和忽略标记
+     */
+    public static void execute(Long tenantId, Runnable runnable) {
+        Long oldTenantId = TenantContextHolder.getTenantId();
+        boolean oldIgnore = TenantContextHolder.isIgnore();
+        try {
+            TenantContextHolder.setTenantId(tenantId);
+            TenantContextHolder.setIgnore(false);
+            runnable.run();
+        } finally {
+            TenantContextHolder.setTenantId(oldTenantId);
+            TenantContextHolder.setIgnore(oldIgnore);
+        }
+    }
+
+    /**
+     * 以指定租户执行并返回结果，执行完成后恢复原来的租户和忽略标记
+     */
+    public static <V> V call(Long tenantId, Supplier<V> supplier) {
+        Long oldTenantId = TenantContextHolder.getTenantId();
+        boolean oldIgnore = TenantContextHolder.isIgnore();
+        try {
+            TenantContextHolder.setTenantId(tenantId);
+            TenantContextHolder.setIgnore(false);
+            return supplier.get();
+        } finally {
+            TenantContextHolder.setTenantId(oldTenantId);
+            TenantContextHolder.setIgnore(oldIgnore);
+        }
+    }
+}
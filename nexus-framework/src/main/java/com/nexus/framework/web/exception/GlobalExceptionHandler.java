@@ -4,7 +4,10 @@ import com.nexus.framework.web.result.Result;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.MyBatisSystemException;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -72,6 +75,17 @@ public class GlobalExceptionHandler {
         return Result.error(400, "参数校验失败：" + message);
     }
 
+    /**
+     * 处理 MyBatis 包装的异常：插件中抛出的业务异常（租户并发隔离等）按业务异常返回
+     */
+    @ExceptionHandler(MyBatisSystemException.class)
+    public ResponseEntity<Result<Void>> handleMyBatisSystemException(MyBatisSystemException e) {
+        if (NestedExceptionUtils.getMostSpecificCause(e) instanceof BusinessException businessException) {
+            return ResponseEntity.ok(handleBusinessException(businessException));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(handleException(e));
+    }
+
     /**
      * 处理系统异常
      */
@@ -0,0 +1,80 @@
+package com.nexus.framework.async.context;
+
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ContextSnapshot 单元测试
+ *
+ * @author nexus
+ */
+class ContextSnapshotTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    /**
+     * 工作线程执行期间能看到提交时的租户、登录用户和 MDC，执行完成后不残留
+     */
+    @Test
+    void testPropagateAndRestore() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 先创建工作线程，避免创建时继承提交线程的值
+            executor.submit(() -> { }).get();
+
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of());
+            TenantContextHolder.setTenantId(100L);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            MDC.put("traceId", "t-1");
+
+            Object[] seen = executor.submit(ContextSnapshot.capture().wrap(() -> new Object[]{
+                    TenantContextHolder.getTenantId(),
+                    SecurityContextHolder.getContext().getAuthentication(),
+                    MDC.get("traceId")})).get();
+            assertEquals(100L, seen[0]);
+            assertSame(authentication, seen[1]);
+            assertEquals("t-1", seen[2]);
+
+            Object[] after = executor.submit(() -> new Object[]{
+                    TenantContextHolder.getTenantId(),
+                    SecurityContextHolder.getContext().getAuthentication(),
+                    MDC.get("traceId")}).get();
+            assertNull(after[0], "租户不应残留在工作线程");
+            assertNull(after[1], "登录用户不应残留在工作线程");
+            assertNull(after[2], "MDC 不应残留在工作线程");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 在提交线程上执行（线程池拒绝后由调用方执行）时，执行完成后恢复调用方原来的上下文
+     */
+    @Test
+    void testRestoreCallerContext() throws Exception {
+        TenantContextHolder.setTenantId(1L);
+        ContextSnapshot snapshot = ContextSnapshot.capture();
+
+        TenantContextHolder.setTenantId(2L);
+        Long seen = snapshot.wrap(TenantContextHolder::getTenantId).call();
+
+        assertEquals(1L, seen);
+        assertEquals(2L, TenantContextHolder.getTenantId());
+    }
+}
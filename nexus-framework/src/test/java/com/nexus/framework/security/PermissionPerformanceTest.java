@@ -1,127 +1,162 @@
 package com.nexus.framework.security;
 
-import lombok.extern.slf4j.Slf4j;
+import com.nexus.framework.security.model.PermissionAuthenticationToken;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.util.SecurityFrameworkService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 权限校验性能测试
- * 
- * 测试日志输出对性能的实际影响
+ *
+ * 对比遍历 authorities 字符串比较（原实现）与权限位图（PermissionRegistry）两种方式，
+ * 分别在用户拥有 4 / 100 / 1000 个权限时测试命中与未命中的耗时
  */
-@Slf4j
 public class PermissionPerformanceTest {
 
-    private static final int ITERATIONS = 100_000;
-    private static final Collection<GrantedAuthority> authorities = List.of(
-            new SimpleGrantedAuthority("system:menu:query"),
-            new SimpleGrantedAuthority("system:menu:create"),
-            new SimpleGrantedAuthority("system:menu:update"),
-            new SimpleGrantedAuthority("system:menu:delete"));
+    private static final int ITERATIONS = 200_000;
+    private static final int WARMUP = 20_000;
+    private static final int[] AUTHORITY_COUNTS = {4, 100, 1000};
+
+    private final SecurityFrameworkService ss = new SecurityFrameworkService();
+    private final PermissionRegistry registry = new PermissionRegistry();
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
 
     @Test
-    public void testPerformanceComparison() {
-        System.out.println("\n========== 权限校验性能测试 ==========\n");
+    public void testBitmapMatchesLegacyResult() {
+        ReflectionTestUtils.setField(ss, "permissionRegistry", registry);
+        List<String> permissions = buildPermissions(100);
+        usePermissionToken(permissions);
 
-        // 预热 JVM
-        for (int i = 0; i < 10000; i++) {
-            checkPermissionWithoutLog("system:menu:create");
-            checkPermissionWithLog("system:menu:create");
-        }
+        assertTrue(ss.hasPermission("system:resource50:query"));
+        assertFalse(ss.hasPermission("system:unknown:query"));
+        assertTrue(ss.hasAnyPermission("system:unknown:query", "system:resource0:query"));
+        assertTrue(ss.hasAllPermissions("system:resource0:query", "system:resource99:query"));
+        assertFalse(ss.hasAllPermissions("system:resource0:query", "system:unknown:query"));
 
-        // 测试1: 无日志版本
-        long start1 = System.nanoTime();
-        for (int i = 0; i < ITERATIONS; i++) {
-            checkPermissionWithoutLog("system:menu:create");
-        }
-        long duration1 = System.nanoTime() - start1;
+        // 未注册的权限不会因校验而被注册
+        int size = registry.size();
+        ss.hasPermission("system:another:query");
+        assertEquals(size, registry.size());
+    }
 
-        // 测试2: 带日志版本（使用 isDebugEnabled 优化）
-        long start2 = System.nanoTime();
-        for (int i = 0; i < ITERATIONS; i++) {
-            checkPermissionWithLogOptimized("system:menu:create");
-        }
-        long duration2 = System.nanoTime() - start2;
+    @Test
+    public void testMaskEncodingRoundTrip() {
+        List<String> permissions = buildPermissions(300);
+        registry.register(permissions);
+        long[] mask = registry.toMask(permissions.subList(100, 300));
+        String encoded = PermissionRegistry.encodeMask(mask);
+        String version = registry.version();
 
-        // 测试3: 带日志版本（未优化）
-        long start3 = System.nanoTime();
-        for (int i = 0; i < ITERATIONS; i++) {
-            checkPermissionWithLog("system:menu:create");
-        }
-        long duration3 = System.nanoTime() - start3;
+        // 同一注册表（或前缀一致的注册表）可还原位图
+        assertEquals(Set.copyOf(permissions.subList(100, 300)),
+                registry.toPermissions(registry.decodeMask(encoded, version)));
+        PermissionRegistry other = new PermissionRegistry();
+        other.register(permissions);
+        other.register("system:another:query");
+        assertEquals(Set.copyOf(permissions.subList(100, 300)),
+                other.toPermissions(other.decodeMask(encoded, version)));
 
-        // 输出结果
-        System.out.printf("测试次数: %,d 次\n\n", ITERATIONS);
-        System.out.printf("1. 无日志版本:          总耗时 %,d ms, 平均 %.3f μs\n",
-                duration1 / 1_000_000, duration1 / (double) ITERATIONS / 1000);
-        System.out.printf("2. 带日志版本(优化):     总耗时 %,d ms, 平均 %.3f μs (慢 %.1f%%)\n",
-                duration2 / 1_000_000, duration2 / (double) ITERATIONS / 1000,
-                (duration2 - duration1) * 100.0 / duration1);
-        System.out.printf("3. 带日志版本(未优化):   总耗时 %,d ms, 平均 %.3f μs (慢 %.1f%%)\n\n",
-                duration3 / 1_000_000, duration3 / (double) ITERATIONS / 1000,
-                (duration3 - duration1) * 100.0 / duration1);
-
-        // 高并发模拟
-        int qps = 1000;
-        System.out.printf("========== 高并发场景模拟 (QPS = %,d) ==========\n\n", qps);
-        System.out.printf("每秒权限校验开销:\n");
-        System.out.printf("  无日志版本:        %.2f ms/秒\n",
-                duration1 / (double) ITERATIONS / 1_000_000 * qps);
-        System.out.printf("  带日志版本(优化):  %.2f ms/秒 (增加 %.2f ms)\n",
-                duration2 / (double) ITERATIONS / 1_000_000 * qps,
-                (duration2 - duration1) / (double) ITERATIONS / 1_000_000 * qps);
-        System.out.printf("  带日志版本(未优化): %.2f ms/秒 (增加 %.2f ms)\n\n",
-                duration3 / (double) ITERATIONS / 1_000_000 * qps,
-                (duration3 - duration1) / (double) ITERATIONS / 1_000_000 * qps);
+        // 注册顺序不同的注册表不能还原
+        PermissionRegistry reordered = new PermissionRegistry();
+        reordered.register("system:another:query");
+        reordered.register(permissions);
+        assertNull(reordered.decodeMask(encoded, version));
+        assertNull(new PermissionRegistry().decodeMask(encoded, version));
     }
 
-    /**
-     * 无日志版本（模拟原生 hasAuthority）
-     */
-    private boolean checkPermissionWithoutLog(String permission) {
-        for (GrantedAuthority authority : authorities) {
-            if (authority.getAuthority().equals(permission)) {
-                return true;
+    @Test
+    public void testPerformanceComparison() {
+        ReflectionTestUtils.setField(ss, "permissionRegistry", registry);
+        System.out.println("\n========== 权限校验性能测试 ==========\n");
+        System.out.printf("测试次数: %,d 次\n\n", ITERATIONS);
+        System.out.printf("%-8s %-10s %14s %14s %10s\n", "权限数", "场景", "遍历(ns/次)", "位图(ns/次)", "提升");
+
+        for (int count : AUTHORITY_COUNTS) {
+            List<String> permissions = buildPermissions(count);
+            // 最坏情况：命中集合中最后一个权限
+            String hit = permissions.get(count - 1);
+            String miss = "system:missing:query";
+
+            Collection<GrantedAuthority> authorities = permissions.stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList());
+            JwtAuthenticationToken legacy = new JwtAuthenticationToken(buildJwt(), authorities);
+            PermissionAuthenticationToken bitmap = new PermissionAuthenticationToken(
+                    buildJwt(), authorities, registry.toMask(Set.copyOf(permissions)));
+
+            for (String permission : new String[]{hit, miss}) {
+                boolean expected = permission.equals(hit);
+                double legacyNanos = measure(legacy, permission, expected);
+                double bitmapNanos = measure(bitmap, permission, expected);
+                System.out.printf("%-8d %-10s %14.1f %14.1f %9.1fx\n",
+                        count, expected ? "命中" : "未命中", legacyNanos, bitmapNanos, legacyNanos / bitmapNanos);
             }
         }
-        return false;
+        System.out.println();
     }
 
     /**
-     * 带日志版本（优化：使用 isDebugEnabled）
+     * 测量单次 hasPermission 平均耗时（纳秒），未命中场景会打印告警日志，因此只比较相对值
      */
-    private boolean checkPermissionWithLogOptimized(String permission) {
-        for (GrantedAuthority authority : authorities) {
-            if (authority.getAuthority().equals(permission)) {
-                // 先判断日志级别，避免不必要的字符串拼接
-                if (log.isDebugEnabled()) {
-                    log.debug("权限校验通过：拥有权限 [{}]", permission);
-                }
-                return true;
-            }
+    private double measure(JwtAuthenticationToken authentication, String permission, boolean expected) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        int iterations = expected ? ITERATIONS : ITERATIONS / 100;
+        for (int i = 0; i < Math.min(WARMUP, iterations); i++) {
+            ss.hasPermission(permission);
         }
-        if (log.isWarnEnabled()) {
-            log.warn("权限校验失败：缺少权限 [{}]", permission);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertEquals(expected, ss.hasPermission(permission));
         }
-        return false;
+        return (System.nanoTime() - start) / (double) iterations;
     }
 
-    /**
-     * 带日志版本（未优化：直接调用 log.debug）
-     */
-    private boolean checkPermissionWithLog(String permission) {
-        for (GrantedAuthority authority : authorities) {
-            if (authority.getAuthority().equals(permission)) {
-                // 未优化：即使 DEBUG 级别关闭，也会进行字符串拼接
-                log.debug("权限校验通过：拥有权限 [{}]", permission);
-                return true;
-            }
+    private void usePermissionToken(List<String> permissions) {
+        Collection<GrantedAuthority> authorities = permissions.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        SecurityContextHolder.getContext().setAuthentication(new PermissionAuthenticationToken(
+                buildJwt(), authorities, registry.toMask(permissions)));
+    }
+
+    private static List<String> buildPermissions(int count) {
+        List<String> permissions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permissions.add("system:resource" + i + ":query");
         }
-        log.warn("权限校验失败：缺少权限 [{}]", permission);
-        return false;
+        return permissions;
+    }
+
+    private static Jwt buildJwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("admin")
+                .claim("userId", 1L)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(7200))
+                .build();
     }
 }
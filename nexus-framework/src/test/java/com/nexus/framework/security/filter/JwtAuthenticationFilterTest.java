@@ -0,0 +1,196 @@
+package com.nexus.framework.security.filter;
+
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.decoder.JwtExpiryValidator;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.service.JwtBlacklistCache;
+import com.nexus.framework.security.service.PermissionLoader;
+import com.nexus.framework.security.service.PermissionRegistry;
+import com.nexus.framework.security.service.PermissionVersionService;
+import com.nexus.framework.security.service.UserTokenEpochService;
+import com.nexus.framework.tenant.context.TenantContextHolder;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtAuthenticationFilter 认证结果分类单元测试
+ *
+ * 使用真实的 Nimbus 编解码器签发和校验 token，每种结果都应计入对应的 outcome 标签
+ *
+ * @author nexus
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final Long USER_ID = 100L;
+
+    private static KeyPair keyPair;
+    private static KeyPair otherKeyPair;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtBlacklistCache jwtBlacklistCache = mock(JwtBlacklistCache.class);
+    private final PermissionLoader permissionLoader = mock(PermissionLoader.class);
+    private final UserTokenEpochService userTokenEpochService = mock(UserTokenEpochService.class);
+    private JwtDecoder jwtDecoder;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        otherKeyPair = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() {
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        nimbusJwtDecoder.setJwtValidator(JwtValidators.createDefaultWithValidators(new JwtExpiryValidator()));
+        jwtDecoder = nimbusJwtDecoder;
+        when(permissionLoader.loadUserPermissions(USER_ID)).thenReturn(Set.of("system:user:query"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void testValid() throws Exception {
+        doFilter(sign(keyPair, Instant.now().plusSeconds(600)));
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertOutcome("valid");
+    }
+
+    @Test
+    void testAnonymous() throws Exception {
+        doFilter(null);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertOutcome("anonymous");
+    }
+
+    @Test
+    void testBlacklisted() throws Exception {
+        when(jwtBlacklistCache.isBlacklisted(any())).thenReturn(true);
+        doFilter(sign(keyPair, Instant.now().plusSeconds(600)));
+        assertOutcome("blacklisted");
+    }
+
+    @Test
+    void testRevoked() throws Exception {
+        when(userTokenEpochService.isRevoked(anyLong(), any())).thenReturn(true);
+        doFilter(sign(keyPair, Instant.now().plusSeconds(600)));
+        assertOutcome("revoked");
+    }
+
+    /**
+     * 超出时钟偏差的过期 token
+     */
+    @Test
+    void testExpired() throws Exception {
+        doFilter(sign(keyPair, Instant.now().minusSeconds(600)));
+        assertOutcome("expired");
+    }
+
+    @Test
+    void testInvalidSignature() throws Exception {
+        doFilter(sign(otherKeyPair, Instant.now().plusSeconds(600)));
+        assertOutcome("invalid_signature");
+    }
+
+    @Test
+    void testInvalid() throws Exception {
+        doFilter("not-a-jwt");
+        assertOutcome("invalid");
+    }
+
+    /**
+     * 权限加载失败时仍完成认证，按无权限处理
+     */
+    @Test
+    void testPermissionLoadFailure() throws Exception {
+        when(permissionLoader.loadUserPermissions(USER_ID)).thenThrow(new IllegalStateException("db down"));
+        doFilter(sign(keyPair, Instant.now().plusSeconds(600)));
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertOutcome("permission_load_failure");
+    }
+
+    @Test
+    void testError() throws Exception {
+        jwtDecoder = token -> {
+            throw new IllegalStateException("decoder unavailable");
+        };
+        doFilter("token");
+        assertOutcome("error");
+    }
+
+    private void doFilter(String token) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtDecoder, permissionLoader, jwtBlacklistCache,
+                new PermissionRegistry(), mock(PermissionVersionService.class), userTokenEpochService,
+                new JwtProperties(), meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private void assertOutcome(String outcome) {
+        for (String tag : new String[]{"valid", "anonymous", "blacklisted", "revoked", "expired",
+                "invalid_signature", "invalid", "permission_load_failure", "error"}) {
+            double expected = tag.equals(outcome) ? 1 : 0;
+            assertEquals(expected, meterRegistry.get("nexus.jwt.filter.result").tag("outcome", tag).counter().count(),
+                    "outcome=" + tag);
+        }
+    }
+
+    private static String sign(KeyPair signingKeyPair, Instant expiresAt) {
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) signingKeyPair.getPublic())
+                .privateKey((RSAPrivateKey) signingKeyPair.getPrivate())
+                .build();
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .subject("admin")
+                .issuedAt(expiresAt.minusSeconds(1200))
+                .expiresAt(expiresAt)
+                .claim("userId", USER_ID)
+                .claim(JwtTokenGenerator.CLAIM_TOKEN_EPOCH, 0L)
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).build(), claims))
+                .getTokenValue();
+    }
+}
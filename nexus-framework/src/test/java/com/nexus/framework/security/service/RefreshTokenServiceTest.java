@@ -0,0 +1,248 @@
+package com.nexus.framework.security.service;
+
+import com.nexus.framework.security.config.JwtProperties;
+import com.nexus.framework.security.generator.JwtTokenGenerator;
+import com.nexus.framework.security.model.LoginUser;
+import com.nexus.framework.web.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RefreshTokenService 令牌轮换单元测试
+ *
+ * Redis 使用内存实现，轮换脚本用 LuaJ 原样执行
+ *
+ * @author nexus
+ */
+class RefreshTokenServiceTest {
+
+    private static final Long USER_ID = 100L;
+
+    private final Map<String, Map<String, String>> hashes = new HashMap<>();
+    private final Map<String, String> strings = new HashMap<>();
+
+    private final RefreshTokenService refreshTokenService = new RefreshTokenService();
+    private final UserTokenEpochService userTokenEpochService = mock(UserTokenEpochService.class);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        doReturn(hashOps).when(redisTemplate).opsForHash();
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        doAnswer(invocation -> {
+            hashes.computeIfAbsent(invocation.getArgument(0), k -> new HashMap<>())
+                    .putAll(invocation.getArgument(1));
+            return null;
+        }).when(hashOps).putAll(anyString(), anyMap());
+        when(hashOps.get(anyString(), any())).thenAnswer(invocation ->
+                hashes.getOrDefault(invocation.<String>getArgument(0), Map.of()).get(invocation.<Object>getArgument(1)));
+        doAnswer(invocation -> strings.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOps).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(redisTemplate.expire(anyString(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(redisTemplate.delete(anyString())).thenAnswer(invocation -> delete(invocation.getArgument(0)));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            return execute(invocation.getArgument(0), invocation.getArgument(1),
+                    Arrays.copyOfRange(arguments, 2, arguments.length));
+        });
+
+        JwtTokenGenerator jwtTokenGenerator = mock(JwtTokenGenerator.class);
+        when(jwtTokenGenerator.generateToken(any(Authentication.class), anyString())).thenReturn("access-token");
+        PermissionLoader permissionLoader = mock(PermissionLoader.class);
+        when(permissionLoader.loadUserPermissions(USER_ID)).thenReturn(Set.of("system:user:query"));
+        when(userTokenEpochService.getEpoch(USER_ID)).thenReturn(0L);
+        when(userTokenEpochService.findEpoch(USER_ID)).thenReturn(0L);
+
+        ReflectionTestUtils.setField(refreshTokenService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(refreshTokenService, "jwtTokenGenerator", jwtTokenGenerator);
+        ReflectionTestUtils.setField(refreshTokenService, "permissionLoader", permissionLoader);
+        ReflectionTestUtils.setField(refreshTokenService, "permissionVersionService", mock(PermissionVersionService.class));
+        ReflectionTestUtils.setField(refreshTokenService, "userTokenEpochService", userTokenEpochService);
+        ReflectionTestUtils.setField(refreshTokenService, "jwtProperties", new JwtProperties());
+    }
+
+    /**
+     * 正常轮换：签发新的刷新令牌，旧令牌标记为已使用，新令牌可继续刷新
+     */
+    @Test
+    void testRotate() {
+        String refreshToken = issue();
+
+        String rotated = refresh(refreshToken);
+        assertNotEquals(refreshToken, rotated);
+        assertTrue(hashes.values().stream().anyMatch(data -> data.containsKey("usedAt")));
+
+        String rotatedAgain = refresh(rotated);
+        assertNotEquals(rotated, rotatedAgain);
+    }
+
+    /**
+     * 宽限期内重复使用旧令牌（多标签页并发刷新）：返回已签发的后继令牌，会话不撤销
+     */
+    @Test
+    void testReplayWithinGraceReturnsSuccessor() {
+        String refreshToken = issue();
+
+        String rotated = refresh(refreshToken);
+        assertEquals(rotated, refresh(refreshToken));
+        assertFalse(familyKeys().isEmpty());
+        refresh(rotated);
+    }
+
+    /**
+     * 宽限期过后重复使用旧令牌：视为被盗用，撤销整个会话，后继令牌同样失效
+     */
+    @Test
+    void testReuseAfterGraceRevokesFamily() {
+        String refreshToken = issue();
+        String rotated = refresh(refreshToken);
+        hashes.values().stream()
+                .filter(data -> data.containsKey("usedAt"))
+                .forEach(data -> data.put("usedAt", String.valueOf(System.currentTimeMillis() - 60_000)));
+
+        assertThrows(BusinessException.class, () -> refresh(refreshToken));
+        assertTrue(familyKeys().isEmpty());
+        assertThrows(BusinessException.class, () -> refresh(rotated));
+    }
+
+    /**
+     * 用户令牌纪元递增后（修改密码等）：刷新失败并撤销会话
+     */
+    @Test
+    void testEpochBumpRevokesFamily() {
+        String refreshToken = issue();
+        when(userTokenEpochService.findEpoch(USER_ID)).thenReturn(1L);
+
+        assertThrows(BusinessException.class, () -> refresh(refreshToken));
+        assertTrue(familyKeys().isEmpty());
+    }
+
+    private String issue() {
+        LoginUser loginUser = new LoginUser(USER_ID, "admin", "", List.of());
+        return (String) refreshTokenService.issue(
+                UsernamePasswordAuthenticationToken.authenticated(loginUser, null, List.of())).get("refreshToken");
+    }
+
+    private String refresh(String refreshToken) {
+        return (String) refreshTokenService.refresh(refreshToken).get("refreshToken");
+    }
+
+    private List<String> familyKeys() {
+        return strings.keySet().stream().filter(key -> key.startsWith("refresh:family:")).toList();
+    }
+
+    private boolean delete(String key) {
+        return hashes.remove(key) != null | strings.remove(key) != null;
+    }
+
+    /**
+     * 执行脚本：KEYS/ARGV 与 Redis 相同，redis.call 访问内存数据，nil 按 Redis 约定转换为 false
+     */
+    private List<String> execute(RedisScript<?> script, List<String> keys, Object[] args) {
+        Globals globals = JsePlatform.standardGlobals();
+        LuaTable redis = new LuaTable();
+        redis.set("call", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs varargs) {
+                return redisCall(varargs);
+            }
+        });
+        globals.set("redis", redis);
+        globals.set("KEYS", toLuaTable(keys));
+        globals.set("ARGV", toLuaTable(Arrays.stream(args).map(String::valueOf).toList()));
+        LuaValue result = globals.load(script.getScriptAsString()).call();
+        List<String> values = new ArrayList<>();
+        for (int i = 1; i <= result.length(); i++) {
+            values.add(result.get(i).tojstring());
+        }
+        return values;
+    }
+
+    private LuaValue redisCall(Varargs varargs) {
+        String command = varargs.arg(1).tojstring();
+        String key = varargs.arg(2).tojstring();
+        switch (command) {
+            case "HMGET" -> {
+                Map<String, String> data = hashes.getOrDefault(key, Map.of());
+                LuaTable values = new LuaTable();
+                for (int i = 3; i <= varargs.narg(); i++) {
+                    String value = data.get(varargs.arg(i).tojstring());
+                    values.set(i - 2, value == null ? LuaValue.FALSE : LuaValue.valueOf(value));
+                }
+                return values;
+            }
+            case "HSET" -> {
+                Map<String, String> data = hashes.computeIfAbsent(key, k -> new HashMap<>());
+                for (int i = 3; i < varargs.narg(); i += 2) {
+                    data.put(varargs.arg(i).tojstring(), varargs.arg(i + 1).tojstring());
+                }
+                return LuaValue.valueOf((varargs.narg() - 2) / 2);
+            }
+            case "EXISTS" -> {
+                return LuaValue.valueOf(hashes.containsKey(key) || strings.containsKey(key) ? 1 : 0);
+            }
+            case "GET" -> {
+                String value = strings.get(key);
+                return value == null ? LuaValue.FALSE : LuaValue.valueOf(value);
+            }
+            case "SET" -> {
+                strings.put(key, varargs.arg(3).tojstring());
+                return LuaValue.valueOf("OK");
+            }
+            case "DEL" -> {
+                return LuaValue.valueOf(delete(key) ? 1 : 0);
+            }
+            case "EXPIRE" -> {
+                return LuaValue.valueOf(1);
+            }
+            default -> throw new UnsupportedOperationException(command);
+        }
+    }
+
+    private static LuaTable toLuaTable(List<String> values) {
+        LuaTable table = new LuaTable();
+        for (int i = 0; i < values.size(); i++) {
+            table.set(i + 1, LuaValue.valueOf(values.get(i)));
+        }
+        return table;
+    }
+}